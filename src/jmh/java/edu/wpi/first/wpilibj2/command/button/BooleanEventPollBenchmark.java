@@ -0,0 +1,73 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link BooleanEvent#poll()} with a varying number of handlers. The condition burns a
+ * fixed amount of CPU to stand in for a CAN or NetworkTables read, so the cost of sampling it once
+ * per poll rather than once per handler is visible in the results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BooleanEventPollBenchmark {
+  @Param({"1", "10", "100", "1000"})
+  public int handlers;
+
+  @Param({"0", "64"})
+  public long supplierTokens;
+
+  private boolean m_state;
+  private BooleanEvent m_event;
+  private Blackhole m_blackhole;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    m_blackhole = blackhole;
+    m_event =
+        new BooleanEvent(
+            () -> {
+              Blackhole.consumeCPU(supplierTokens);
+              return m_state;
+            });
+    for (int i = 0; i < handlers; i++) {
+      if (i % 2 == 0) {
+        m_event.onChange(state -> m_blackhole.consume(state));
+      } else {
+        m_event.whileTrueContinuous(() -> m_blackhole.consume(this));
+      }
+    }
+  }
+
+  /** A tick on which the condition does not change. */
+  @Benchmark
+  public void pollSteady() {
+    m_event.poll();
+  }
+
+  /** A tick on which the condition changes, so every edge handler fires. */
+  @Benchmark
+  public void pollToggling() {
+    m_state = !m_state;
+    m_event.poll();
+  }
+}
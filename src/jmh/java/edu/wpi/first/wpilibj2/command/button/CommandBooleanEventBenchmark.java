@@ -0,0 +1,75 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.InstantCommand;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the command binding paths of {@link CommandBooleanEvent}: a loop of events bound with
+ * {@code onTrue}, {@code whileTrueOnce}, {@code toggleOnTrue} and {@code whileTrueContinuous},
+ * polled and followed by a {@link CommandScheduler#run()}. Uses the desktop HAL, so no roboRIO is
+ * needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBooleanEventBenchmark {
+  @Param({"1", "10", "100"})
+  public int events;
+
+  private boolean m_state;
+  private EventLoop m_loop;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+    m_loop = new EventLoop(() -> System.nanoTime() / 1000);
+    for (int i = 0; i < events; i++) {
+      new CommandBooleanEvent(m_loop, () -> m_state)
+          .onTrue(new InstantCommand())
+          .whileTrueOnce(new InstantCommand())
+          .toggleOnTrue(new InstantCommand())
+          .whileTrueContinuous(new InstantCommand());
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    CommandScheduler.getInstance().cancelAll();
+  }
+
+  /** A tick on which nothing changes. */
+  @Benchmark
+  public void pollSteady() {
+    m_loop.poll();
+    CommandScheduler.getInstance().run();
+  }
+
+  /** A tick on which every event changes state and schedules or cancels its commands. */
+  @Benchmark
+  public void pollToggling() {
+    m_state = !m_state;
+    m_loop.poll();
+    CommandScheduler.getInstance().run();
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures one {@link EventLoop} tick over composed events: a tree of alternating {@code and} and
+ * {@code or} nodes of the given depth, where every level reuses the same two leaves, and a chain of
+ * {@code debounce} calls of the given depth. Every derived event has one edge handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositionBenchmark {
+  @Param({"1", "4", "16", "64"})
+  public int depth;
+
+  private final long[] m_time = new long[1];
+  private boolean m_a;
+  private boolean m_b;
+  private EventLoop m_compositionLoop;
+  private EventLoop m_debounceLoop;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    m_compositionLoop = new EventLoop(() -> m_time[0]);
+    BooleanEvent a = new BooleanEvent(m_compositionLoop, () -> m_a);
+    BooleanEvent b = new BooleanEvent(m_compositionLoop, () -> m_b);
+    BooleanEvent node = a;
+    for (int i = 0; i < depth; i++) {
+      node = (i % 2 == 0 ? node.and(b) : node.or(a.and(b))).onChange(blackhole::consume);
+    }
+
+    m_debounceLoop = new EventLoop(() -> m_time[0]);
+    node = new BooleanEvent(m_debounceLoop, () -> m_a);
+    for (int i = 0; i < depth; i++) {
+      node = node.debounce(0.02).onChange(blackhole::consume);
+    }
+  }
+
+  @Benchmark
+  public void andOrTree() {
+    m_a = !m_a;
+    m_b = m_a || !m_b;
+    m_compositionLoop.poll();
+  }
+
+  @Benchmark
+  public void debounceChain() {
+    m_time[0] += 20_000;
+    m_a = (m_time[0] / 100_000) % 2 == 0;
+    m_debounceLoop.poll();
+  }
+}
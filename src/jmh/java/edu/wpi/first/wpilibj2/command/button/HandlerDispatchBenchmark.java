@@ -0,0 +1,60 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares dispatching handlers from a {@link HandlerList} with iterating the {@link LinkedHashSet}
+ * that BooleanEvent used to store its handlers in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerDispatchBenchmark {
+  @Param({"1", "10", "100", "1000"})
+  public int handlers;
+
+  private final HandlerList m_handlerList = new HandlerList();
+  private final Collection<Runnable> m_linkedHashSet = new LinkedHashSet<>();
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    for (int i = 0; i < handlers; i++) {
+      Runnable handler = () -> blackhole.consume(this);
+      m_handlerList.add(handler);
+      m_linkedHashSet.add(handler);
+    }
+  }
+
+  @Benchmark
+  public void handlerList() {
+    m_handlerList.run();
+  }
+
+  @Benchmark
+  public void linkedHashSet() {
+    for (Runnable handler : m_linkedHashSet) {
+      handler.run();
+    }
+  }
+}
@@ -8,10 +8,9 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 
 import edu.wpi.first.math.filter.Debouncer;
 
-import java.util.Collection;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.function.BooleanSupplier;
-import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /**
  * This class provides an easy way to link commands to boolean inputs such as joystick buttons, limit switches, or robot status.
@@ -24,11 +23,43 @@ import java.util.function.Consumer;
  * certain sensor input). For this, they only have to write the {@link BooleanEvent#get()} method to get
  * the full functionality of the BooleanEvent class.
  *
+ * <p>On each poll, handlers run grouped by kind rather than in the order they were bound: first the
+ * edge handlers of the transition, if there is one, such as {@link BooleanEvent#onTrue(Runnable)}
+ * on a rising edge or {@link BooleanEvent#onFalse(Runnable)} on a falling one; then, while the
+ * state is true, the handlers bound with {@link BooleanEvent#whileTrueContinuous(Runnable)}; and
+ * last the handlers added with {@link BooleanEvent#addHandler(Runnable)}. Within each group,
+ * handlers run in binding order. Bindings that act on the same command therefore interact by kind:
+ * with {@code whileTrueContinuous(command)} and {@code cancelOnTrue(command)}, the rising edge
+ * cancels the command and the level handler then schedules it on the same poll, so it ends up
+ * scheduled no matter which was bound first.
+ *
  * <p>This class is provided by the NewCommands VendorDep
  */
 public class BooleanEvent implements BooleanSupplier {
   private final BooleanSupplier m_eventSupplier;
-  protected final Collection<Runnable> m_handlers;
+  protected final HandlerList m_handlers;
+  private final HandlerList m_risingHandlers = new HandlerList();
+  private final HandlerList m_fallingHandlers = new HandlerList();
+  private final HandlerList m_whileTrueHandlers = new HandlerList();
+  private int m_bindingCount;
+  EventLoop m_loop;
+  EventTimings m_dispatchTimings;
+  int m_bindingGeneration;
+  BooleanSupplier m_substitute;
+  private String m_name;
+
+  private long m_sampledPoll = -1;
+  private boolean m_sampledState;
+  private long m_version;
+  private int m_pollPeriod = 1;
+  int m_pollPhase;
+  private BooleanEvent[] m_inputs;
+  private long[] m_inputVersions;
+  private boolean m_stateLast;
+  private boolean m_hasStateLast;
+  private long m_lastRisingTime = -1;
+  private long m_lastFallingTime = -1;
+  private TransitionHistory m_history;
 
   /**
    * Creates a new BooleanEvent that monitors the given condition.
@@ -36,10 +67,23 @@ public class BooleanEvent implements BooleanSupplier {
    * @param eventSupplier the condition the BooleanEvent should monitor.
    */
   public BooleanEvent(BooleanSupplier eventSupplier) {
-    this(eventSupplier, new LinkedHashSet<>());
+    this(eventSupplier, new HandlerList());
+  }
+
+  /**
+   * Creates a new BooleanEvent that monitors the given condition and is polled by the given loop.
+   *
+   * @param loop the loop that polls this BooleanEvent.
+   * @param eventSupplier the condition the BooleanEvent should monitor.
+   */
+  public BooleanEvent(EventLoop loop, BooleanSupplier eventSupplier) {
+    this(eventSupplier);
+    requireNonNullParam(loop, "loop", "BooleanEvent");
+    m_loop = loop;
+    loop.bind(this);
   }
 
-  protected BooleanEvent(BooleanSupplier eventSupplier, Collection<Runnable> handlers) {
+  protected BooleanEvent(BooleanSupplier eventSupplier, HandlerList handlers) {
     m_eventSupplier = eventSupplier;
     m_handlers = handlers;
   }
@@ -79,14 +123,408 @@ public class BooleanEvent implements BooleanSupplier {
     return m_eventSupplier.getAsBoolean();
   }
 
+  /**
+   * Runs all handlers bound to this BooleanEvent.
+   *
+   * <p>The condition is sampled at most once per poll, no matter how many handlers are bound, so
+   * every handler sees the same value. See {@link BooleanEvent#getPolled()}.
+   *
+   * <p>BooleanEvents bound to an {@link EventLoop} are polled by the loop and should not be polled
+   * directly.
+   */
   public void poll() {
-    for (Runnable handler : m_handlers) {
-      handler.run();
+    EventTick.advance(EventTick.kDefaultClock);
+    dispatch(null);
+  }
+
+  /**
+   * Runs the handlers bound to this BooleanEvent as part of the current poll.
+   *
+   * <p>The sampled state is compared once against the state of the previous poll. Edge handlers
+   * only run on the poll where the state changes, so on a poll with no transition only the
+   * handlers bound with {@link BooleanEvent#whileTrueContinuous(Runnable)} (while the state is true)
+   * and {@link BooleanEvent#addHandler(Runnable)} run.
+   *
+   * <p>Before the handlers for an edge run, the time of the edge is recorded, so they can read it
+   * with {@link BooleanEvent#getLastTransitionTime()}.
+   *
+   * @param timings where the polling loop records execution times, or null to not record them
+   */
+  void dispatch(EventTimings timings) {
+    boolean state;
+    if (timings != null && m_sampledPoll != EventTick.count()) {
+      long start = System.nanoTime();
+      state = getPolled();
+      timings.recordSupplier(System.nanoTime() - start);
+    } else {
+      state = getPolled();
+    }
+    primeStateLast();
+    int transitions = transitions(m_stateLast, state);
+    for (int i = 0; i < transitions; i++) {
+      m_stateLast = !m_stateLast;
+      if (m_stateLast) {
+        m_lastRisingTime = transitionTime(true);
+        if (m_history != null) {
+          m_history.record(m_lastRisingTime, true);
+        }
+        m_risingHandlers.run(timings);
+      } else {
+        m_lastFallingTime = transitionTime(false);
+        if (m_history != null) {
+          m_history.record(m_lastFallingTime, false);
+        }
+        m_fallingHandlers.run(timings);
+      }
+    }
+    if (state) {
+      m_whileTrueHandlers.run(timings);
+    }
+    m_handlers.run(timings);
+  }
+
+  /**
+   * Returns the number of edges to deliver on this poll, given the state at the end of the previous
+   * poll and the state sampled on this one. Pollable conditions can only show one transition per
+   * poll; {@link PushBooleanEvent} overrides this to deliver every latched edge.
+   */
+  int transitions(boolean previous, boolean current) {
+    return previous != current ? 1 : 0;
+  }
+
+  /**
+   * Returns the time of the edge being delivered, in microseconds. Pollable conditions are
+   * timestamped when the edge is detected; {@link PushBooleanEvent} overrides this to return the
+   * time the edge was pushed.
+   */
+  long transitionTime(boolean rising) {
+    return now();
+  }
+
+  /**
+   * Reads the clock that edges of this BooleanEvent are timestamped with: the clock of its loop, or
+   * the transition clock if the loop uses the default clock. Reads the clock on every call, so a
+   * loop clock given to an event that is pushed from other threads must be safe to read from them.
+   */
+  long now() {
+    LongSupplier clock = clockOf(m_loop);
+    return clock == EventTick.kDefaultClock ? EventTick.now() : clock.getAsLong();
+  }
+
+  /**
+   * Evaluates the condition for the current poll; called at most once per poll by getPolled(). A
+   * {@link TransitionReplay} may substitute recorded values for the condition.
+   */
+  boolean sample() {
+    return m_substitute != null ? m_substitute.getAsBoolean() : get();
+  }
+
+  /** Returns the state to take as the previous state before anything has been delivered. */
+  boolean initialState() {
+    return getPolled();
+  }
+
+  /**
+   * Returns the state as last delivered to the handlers, from which the next edge is detected. If
+   * nothing has been delivered yet, this is the state sampled on the current poll.
+   */
+  boolean getDeliveredState() {
+    primeStateLast();
+    return m_stateLast;
+  }
+
+  /** Returns whether any handler runs on a poll without a transition. */
+  boolean hasLevelHandlers() {
+    return m_whileTrueHandlers.size() > 0 || m_handlers.size() > 0;
+  }
+
+  private void primeStateLast() {
+    if (!m_hasStateLast) {
+      m_stateLast = initialState();
+      m_hasStateLast = true;
     }
   }
 
+  /**
+   * Like {@link BooleanEvent#dispatch(EventTimings)}, also recording the time of the whole poll.
+   *
+   * @param timings where the polling loop records execution times
+   */
+  void dispatchTimed(EventTimings timings) {
+    long start = System.nanoTime();
+    dispatch(timings);
+    timings.recordPoll(System.nanoTime() - start);
+  }
+
+  /**
+   * Dispatches this event from a dispatcher bound with {@link EventLoop#bindDispatcher(Runnable)},
+   * recording execution times into {@link #m_dispatchTimings} if the loop that dispatches it is
+   * timing it.
+   */
+  final void dispatchFromDispatcher() {
+    EventTimings timings = m_dispatchTimings;
+    if (timings != null) {
+      dispatchTimed(timings);
+    } else {
+      dispatch(null);
+    }
+  }
+
+  /**
+   * Returns the state of this BooleanEvent as sampled during the current poll.
+   *
+   * <p>The first call in each poll evaluates {@link BooleanEvent#get()}; later calls in the same poll
+   * return the cached value. Handlers should use this instead of calling {@link BooleanEvent#get()}.
+   *
+   * <p>Composed BooleanEvents read their operands through this method, so a composition such as
+   * {@code a.and(b).or(c.and(b))} is evaluated as a graph: each node, including a leaf shared by
+   * several branches, is evaluated at most once per poll, and operands are evaluated before the
+   * nodes that depend on them.
+   *
+   * <p>Changes propagate reactively: a composed BooleanEvent made by {@code and}, {@code or} or
+   * {@code negate} is only re-evaluated when the sampled value of one of its operands has changed
+   * since it was last evaluated. On a tick where no leaf changes, each composed node costs one
+   * version check per operand.
+   *
+   * @return whether or not the BooleanEvent was true when sampled during the current poll.
+   */
+  protected final boolean getPolled() {
+    long tick = EventTick.count();
+    if (m_sampledPoll != tick) {
+      if (m_sampledPoll < 0 || (isDue() && (m_inputs == null || inputsChanged()))) {
+        boolean state = sample();
+        if (m_sampledPoll < 0 || state != m_sampledState) {
+          m_version++;
+        }
+        m_sampledState = state;
+      }
+      m_sampledPoll = tick;
+    }
+    return m_sampledState;
+  }
+
+  private boolean isDue() {
+    return m_pollPeriod == 1 || m_loop == null || m_loop.isDue(m_pollPeriod, m_pollPhase);
+  }
+
+  /**
+   * Samples every operand, and returns whether any of them changed value since this BooleanEvent
+   * was last evaluated.
+   */
+  private boolean inputsChanged() {
+    boolean changed = false;
+    for (int i = 0; i < m_inputs.length; i++) {
+      BooleanEvent input = m_inputs[i];
+      input.getPolled();
+      if (input.m_version != m_inputVersions[i]) {
+        m_inputVersions[i] = input.m_version;
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Declares the operands of a stateless composed event, so it is only re-evaluated when one of them
+   * changes. Stateful compositions such as debounce must not declare operands, since their value
+   * can change while their operands do not.
+   */
+  static <T extends BooleanEvent> T withInputs(T event, BooleanEvent... inputs) {
+    BooleanEvent node = event;
+    node.m_inputs = inputs;
+    node.m_inputVersions = new long[inputs.length];
+    Arrays.fill(node.m_inputVersions, -1);
+    return event;
+  }
+
+  /**
+   * Returns the time at which this BooleanEvent last became true, as delivered to its handlers.
+   * Times are in microseconds, from the clock of the loop that polls this BooleanEvent. On the
+   * default clock, and for BooleanEvents without a loop, they are from FPGA time on a robot and from
+   * {@link System#nanoTime()} on a desktop, where it has a finer resolution. Only edges delivered by
+   * polling are recorded, so a BooleanEvent that is never polled has no edges.
+   *
+   * @return the time of the last rising edge, in microseconds, or -1 if there has been none
+   */
+  public long getLastRisingEdgeTime() {
+    return m_lastRisingTime;
+  }
+
+  /**
+   * Returns the time at which this BooleanEvent last became false, as delivered to its handlers.
+   *
+   * @return the time of the last falling edge, in microseconds, or -1 if there has been none
+   * @see BooleanEvent#getLastRisingEdgeTime()
+   */
+  public long getLastFallingEdgeTime() {
+    return m_lastFallingTime;
+  }
+
+  /**
+   * Returns the time at which this BooleanEvent last changed state, as delivered to its handlers.
+   * Edge handlers can call this to get the time of the edge they are running for, without
+   * allocating.
+   *
+   * @return the time of the last edge, in microseconds, or -1 if there has been none
+   * @see BooleanEvent#getLastRisingEdgeTime()
+   */
+  public long getLastTransitionTime() {
+    return m_stateLast ? m_lastRisingTime : m_lastFallingTime;
+  }
+
+  /**
+   * Keeps the given number of most recent transitions of this BooleanEvent, so that {@link
+   * BooleanEvent#trueDurationInWindow(double)} can look back over them. Replaces any history kept
+   * so far.
+   *
+   * @param capacity the number of transitions to keep
+   * @return this BooleanEvent, so calls can be chained
+   */
+  public BooleanEvent withHistory(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    primeStateLast();
+    m_history = new TransitionHistory(capacity);
+    return this;
+  }
+
+  /**
+   * Returns whether this BooleanEvent is true, or was true at any time in the given number of
+   * seconds before now. Like the other time queries, this only sees states delivered by polling,
+   * and measures time on the clock of {@link BooleanEvent#getLastRisingEdgeTime()}.
+   *
+   * @param seconds the length of the window, in seconds
+   * @return whether this BooleanEvent was true within the window
+   */
+  public boolean wasTrueWithin(double seconds) {
+    if (m_stateLast) {
+      return true;
+    }
+    return m_lastFallingTime >= 0 && now() - m_lastFallingTime <= toMicros(seconds);
+  }
+
+  /**
+   * Returns the time since this BooleanEvent last became true.
+   *
+   * @return the time since the last rising edge, in seconds, or {@link Double#POSITIVE_INFINITY}
+   *     if there has been none
+   */
+  public double timeSinceRisingEdge() {
+    if (m_lastRisingTime < 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return (now() - m_lastRisingTime) / 1e6;
+  }
+
+  /**
+   * Returns how long this BooleanEvent has been true in the given number of seconds before now.
+   * Requires {@link BooleanEvent#withHistory(int)}; if the window reaches back past the oldest kept
+   * transition, the state before that transition is assumed to have held since the start of the
+   * window.
+   *
+   * @param seconds the length of the window, in seconds
+   * @return the time spent true within the window, in seconds
+   * @throws IllegalStateException if history is not kept for this BooleanEvent
+   */
+  public double trueDurationInWindow(double seconds) {
+    if (m_history == null) {
+      throw new IllegalStateException("trueDurationInWindow requires withHistory");
+    }
+    long now = now();
+    return m_history.trueDuration(now - toMicros(seconds), now, m_stateLast) / 1e6;
+  }
+
+  private static long toMicros(double seconds) {
+    return Math.round(seconds * 1e6);
+  }
+
+  /**
+   * Sets how often the loop that polls this BooleanEvent samples it and runs its handlers. On the
+   * ticks in between, the condition is not evaluated, and events composed from this one see the
+   * value from its last sample. Useful for conditions that are expensive to evaluate and change
+   * slowly, such as ones derived from vision. Has no effect on BooleanEvents polled directly. The
+   * loop spreads events with the same period over the ticks of the period; see {@link EventLoop}.
+   *
+   * <p>To sample a condition faster than the loop runs, use a {@link LatchedSampler}.
+   *
+   * @param ticks the poll period, in loop ticks (1 polls on every tick)
+   * @return this BooleanEvent, so calls can be chained
+   */
+  public BooleanEvent pollEvery(int ticks) {
+    if (ticks <= 0) {
+      throw new IllegalArgumentException("ticks must be positive");
+    }
+    m_pollPeriod = ticks;
+    if (m_loop != null) {
+      m_loop.rebucket();
+    }
+    return this;
+  }
+
+  /**
+   * Returns how often this BooleanEvent is polled by its loop.
+   *
+   * @return the poll period, in loop ticks
+   */
+  public int getPollPeriod() {
+    return m_pollPeriod;
+  }
+
+  /**
+   * Sets the name of this BooleanEvent, used to identify it in {@link EventTimings}.
+   *
+   * @param name the name
+   * @return this BooleanEvent, so calls can be chained
+   */
+  public BooleanEvent withName(String name) {
+    m_name = requireNonNullParam(name, "name", "withName");
+    return this;
+  }
+
+  /**
+   * Returns the name of this BooleanEvent. Defaults to the simple name of its class.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return m_name != null ? m_name : getClass().getSimpleName();
+  }
+
+  /**
+   * Adds a handler that runs on every poll, regardless of the state of this BooleanEvent. Adding a
+   * handler that is already present has no effect.
+   *
+   * @param handler the handler to run
+   */
   protected void addHandler(Runnable handler) {
-    m_handlers.add(handler);
+    if (m_handlers.add(handler, m_bindingCount)) {
+      m_bindingCount++;
+    }
+  }
+
+  /**
+   * Adds one binding made of handlers for the edges and level of this BooleanEvent. Any of the
+   * handlers may be null. If nothing has been bound before, the current state is taken as the
+   * previous state, so a BooleanEvent that is already true does not fire a rising edge on the first
+   * poll. Every call is a separate binding, so a handler passed twice runs twice.
+   *
+   * @param onRising the handler to run on the poll where the state becomes true
+   * @param onFalling the handler to run on the poll where the state becomes false
+   * @param whileTrue the handler to run on every poll where the state is true
+   */
+  protected void addHandlers(Runnable onRising, Runnable onFalling, Runnable whileTrue) {
+    primeStateLast();
+    int id = m_bindingCount++;
+    if (onRising != null) {
+      m_risingHandlers.append(onRising, id);
+    }
+    if (onFalling != null) {
+      m_fallingHandlers.append(onFalling, id);
+    }
+    if (whileTrue != null) {
+      m_whileTrueHandlers.append(whileTrue, id);
+    }
   }
 
   /**
@@ -94,6 +532,12 @@ public class BooleanEvent implements BooleanSupplier {
    */
   public void clearBindings() {
     m_handlers.clear();
+    m_risingHandlers.clear();
+    m_fallingHandlers.clear();
+    m_whileTrueHandlers.clear();
+    m_bindingCount = 0;
+    // Binding ids start over, so timings must not attribute old samples to new handlers.
+    m_bindingGeneration++;
   }
 
   /* RUNNABLES */
@@ -108,11 +552,22 @@ public class BooleanEvent implements BooleanSupplier {
    * @return this BooleanEvent, so calls can be chained
    */
   public BooleanEvent onTrue(final Runnable toRun) {
-    onChange(state -> {
-      if (state == true) {
-        toRun.run();
-      }
-    });
+    requireNonNullParam(toRun, "toRun", "onTrue");
+    addHandlers(toRun, null, null);
+    return this;
+  }
+
+  /**
+   * Runs the given Runnable whenever the BooleanEvent just becomes false.
+   *
+   * <p>This method does not schedule any commands nor deal with requirements.
+   *
+   * @param toRun the Runnable to run
+   * @return this BooleanEvent, so calls can be chained
+   */
+  public BooleanEvent onFalse(final Runnable toRun) {
+    requireNonNullParam(toRun, "toRun", "onFalse");
+    addHandlers(null, toRun, null);
     return this;
   }
 
@@ -124,73 +579,82 @@ public class BooleanEvent implements BooleanSupplier {
    * @return this BooleanEvent, so calls can be chained
    */
   public BooleanEvent whileTrueContinuous(final Runnable toRun) {
-    addHandler(
-      () -> {
-        if(get() == true) {
-          toRun.run();
-        }
-      }
-    );
+    requireNonNullParam(toRun, "toRun", "whileTrueContinuous");
+    addHandlers(null, null, toRun);
     return this;
   }
 
   /**
-   * Runs the given Consumer when this BooleanEvent changes state between true and false.
+   * Runs the given BooleanConsumer when this BooleanEvent changes state between true and false.
+   *
+   * <p>The new state is passed as a primitive, and the handler is only allocated when bound, so
+   * polling this binding does not allocate.
    * 
-   * @param handler the Consumer to run, which accepts the new state
+   * @param handler the BooleanConsumer to run, which accepts the new state
    * @return this BooleanEvent, so calls can be chained
    */
-  protected BooleanEvent onChange(Consumer<Boolean> handler) {
-    requireNonNullParam(handler, "handle", "onChange");
-    addHandler(
-      new Runnable() {
-        private boolean m_stateLast = get();
-
-        @Override
-        public void run() {
-          boolean state = get();
-
-          if (m_stateLast != state) {
-            handler.accept(state);
-          }
-
-          m_stateLast = state;
-        }
-      }
-    );
+  public BooleanEvent onChange(BooleanConsumer handler) {
+    requireNonNullParam(handler, "handler", "onChange");
+    addHandlers(() -> handler.accept(true), () -> handler.accept(false), null);
     return this;
   }
 
   
   /* COMPOSITION */
+
+  /**
+   * Returns the loop that should poll an event derived from the given operands: the loop of the
+   * first operand that is bound to one, or null if neither is.
+   */
+  static EventLoop loopOf(BooleanEvent first, BooleanEvent second) {
+    return first.m_loop != null ? first.m_loop : second.m_loop;
+  }
+
+  /**
+   * Returns the clock of the given loop, or the default clock that {@link BooleanEvent#poll()} uses
+   * if there is no loop.
+   */
+  static LongSupplier clockOf(EventLoop loop) {
+    return loop != null ? loop.getClock() : EventTick.kDefaultClock;
+  }
+
+  private static BooleanEvent derive(EventLoop loop, BooleanSupplier condition) {
+    return loop != null ? new BooleanEvent(loop, condition) : new BooleanEvent(condition);
+  }
   
   /**
    * Composes this BooleanEvent with another BooleanEvent, returning a new BooleanEvent that is true when both
    * BooleanEvents are true.
    *
+   * <p>The composed BooleanEvent starts with no bindings of its own, and binding to it does not
+   * affect either operand. It is polled by the loop of this BooleanEvent, or else by the loop of the
+   * other one; if neither is bound to a loop, it must be polled directly.
+   *
    * @param eventListener the BooleanEvent to compose with
    * @return the BooleanEvent that is true when both BooleanEvents are true
    */
   public BooleanEvent and(BooleanEvent eventListener) {
-    Collection<Runnable> handlers = m_handlers;
-    handlers.addAll(eventListener.m_handlers);
-    return new BooleanEvent(
-      () -> get() && eventListener.get(),
-      handlers);
+    return withInputs(
+      derive(loopOf(this, eventListener), () -> getPolled() && eventListener.getPolled()),
+      this,
+      eventListener);
   }
   /**
    * Composes this BooleanEvent with another BooleanEvent, returning a new BooleanEvent that is true when either
    * BooleanEvent is true.
    *
+   * <p>The composed BooleanEvent starts with no bindings of its own, and binding to it does not
+   * affect either operand. It is polled by the loop of this BooleanEvent, or else by the loop of the
+   * other one; if neither is bound to a loop, it must be polled directly.
+   *
    * @param eventListener the BooleanEvent to compose with
    * @return the BooleanEvent that is true when either BooleanEvent is true
    */
   public BooleanEvent or(BooleanEvent eventListener) {
-    Collection<Runnable> handlers = m_handlers;
-    handlers.addAll(eventListener.m_handlers);
-    return new BooleanEvent(
-      () -> get() || eventListener.get(),
-      handlers);
+    return withInputs(
+      derive(loopOf(this, eventListener), () -> getPolled() || eventListener.getPolled()),
+      this,
+      eventListener);
   }
 
   /**
@@ -203,7 +667,7 @@ public class BooleanEvent implements BooleanSupplier {
    * @return the negated BooleanEvent
    */
   public BooleanEvent negate() {
-    return new BooleanEvent(() -> !get());
+    return withInputs(derive(m_loop, () -> !getPolled()), this);
   }
 
   /**
@@ -221,20 +685,87 @@ public class BooleanEvent implements BooleanSupplier {
    * Creates a new debounced BooleanEvent from this BooleanEvent - it will become true when this BooleanEvent has
    * been true for longer than the specified period.
    *
+   * <p>Time is measured with the timestamp of the current tick, taken from the clock of the loop
+   * that polls it, so evaluating a debounced BooleanEvent does not read the clock itself.
+   *
+   * <p>Like {@link BooleanEvent#and(BooleanEvent)}, the debounced BooleanEvent has its own bindings
+   * and is polled by the loop of this BooleanEvent.
+   *
    * @param seconds The debounce period.
    * @param type The debounce type.
    * @return The debounced BooleanEvent.
    */
   public BooleanEvent debounce(double seconds, Debouncer.DebounceType type) {
-    return new BooleanEvent(
+    return derive(
+        m_loop,
         new BooleanSupplier() {
-          Debouncer m_debouncer = new Debouncer(seconds, type);
+          TickDebouncer m_debouncer = new TickDebouncer(seconds, type, clockOf(m_loop));
 
           @Override
           public boolean getAsBoolean() {
-            return m_debouncer.calculate(get());
+            return m_debouncer.calculate(getPolled());
           }
-        },
-        m_handlers);
+        });
+  }
+
+  /* GESTURES */
+
+  /**
+   * Creates a new BooleanEvent that becomes true when this BooleanEvent becomes true twice within
+   * the given window, and stays true while the second press is held. A third press starts a new
+   * double tap.
+   *
+   * <p>Like {@link BooleanEvent#debounce(double)}, the gesture is measured with the tick timestamp
+   * and is polled by the loop of this BooleanEvent. It reads the sampled value of this
+   * BooleanEvent, so it does not sample the condition again.
+   *
+   * @param windowSeconds the longest time between the two rising edges, in seconds
+   * @return the double-tap BooleanEvent
+   */
+  public BooleanEvent doubleTap(double windowSeconds) {
+    return derive(m_loop, gesture(m_loop, this, this, windowSeconds));
+  }
+
+  /**
+   * Creates a new BooleanEvent that becomes true when this BooleanEvent has been held true for the
+   * given duration, and stays true until it is released. This is a rising-edge {@link
+   * BooleanEvent#debounce(double)}.
+   *
+   * @param durationSeconds how long the BooleanEvent must be held, in seconds
+   * @return the long-press BooleanEvent
+   */
+  public BooleanEvent longPress(double durationSeconds) {
+    return debounce(durationSeconds, Debouncer.DebounceType.kRising);
+  }
+
+  /**
+   * Creates a new BooleanEvent that becomes true when the second BooleanEvent becomes true within
+   * the given time after the first one did, and stays true while the second is held. It is polled
+   * by the loop of the first BooleanEvent, or else by the loop of the second.
+   *
+   * @param first the BooleanEvent that starts the sequence
+   * @param second the BooleanEvent that completes the sequence
+   * @param withinSeconds the longest time between the two rising edges, in seconds
+   * @return the sequence BooleanEvent
+   */
+  public static BooleanEvent sequence(
+      BooleanEvent first, BooleanEvent second, double withinSeconds) {
+    requireNonNullParam(first, "first", "sequence");
+    requireNonNullParam(second, "second", "sequence");
+    EventLoop loop = loopOf(first, second);
+    return derive(loop, gesture(loop, first, second, withinSeconds));
+  }
+
+  /**
+   * Returns the condition of a gesture event polled by the given loop, made of the sampled values of
+   * its operands.
+   */
+  static BooleanSupplier gesture(
+      EventLoop loop, BooleanEvent first, BooleanEvent second, double seconds) {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("seconds must not be negative");
+    }
+    TickSequence sequence = new TickSequence(seconds, clockOf(loop));
+    return () -> sequence.calculate(first.getPolled(), second.getPolled());
   }
 }
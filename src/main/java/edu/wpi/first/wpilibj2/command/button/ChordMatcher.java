@@ -0,0 +1,167 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+/**
+ * Matches multi-button chords on one controller, such as LB+RB+A, against a single sampled button
+ * word.
+ *
+ * <p>Each chord is compiled to a mask of the buttons it looks at and the value those buttons must
+ * have, so matching it is one AND and one comparison. The button word is read once per tick, and
+ * every chord is matched against that read. When several chords match, only the most specific
+ * ones are true: a chord is suppressed while a chord that looks at more buttons, and agrees with
+ * it on the buttons they share, also matches. Holding LB+RB+A therefore makes the LB+RB+A chord
+ * true, but not the chord for A alone.
+ *
+ * <p>Buttons are numbered from 1, as in {@link edu.wpi.first.wpilibj.GenericHID}: button {@code n}
+ * is bit {@code n - 1} of the word, as returned by {@link
+ * edu.wpi.first.wpilibj.DriverStation#getStickButtons(int)}.
+ *
+ * <p>Suppression applies on each tick: while a chord is pressed one button at a time, the chords
+ * for the buttons held so far are true in turn. Debounce the chord events if that matters.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class ChordMatcher {
+  private final EventLoop m_loop;
+  private final IntSupplier m_buttons;
+  private int[] m_masks = new int[0];
+  private int[] m_values = new int[0];
+  private int[][] m_suppressors = new int[0][];
+  private boolean[] m_matched = new boolean[0];
+  private boolean[] m_active = new boolean[0];
+  private long m_sampledPoll = -1;
+  private int m_sampledButtons;
+
+  /**
+   * Creates a new ChordMatcher.
+   *
+   * @param loop the loop that polls the chord events
+   * @param buttons the button word of the controller
+   */
+  public ChordMatcher(EventLoop loop, IntSupplier buttons) {
+    m_loop = requireNonNullParam(loop, "loop", "ChordMatcher");
+    m_buttons = requireNonNullParam(buttons, "buttons", "ChordMatcher");
+  }
+
+  /**
+   * Creates an event that is true while all of the given buttons are held, and no more specific
+   * chord matches.
+   *
+   * @param buttons the buttons of the chord, numbered from 1
+   * @return the chord event
+   */
+  public BooleanEvent chord(int... buttons) {
+    requireNonNullParam(buttons, "buttons", "chord");
+    int mask = 0;
+    for (int button : buttons) {
+      if (button < 1 || button > 32) {
+        throw new IllegalArgumentException("Button out of range: " + button);
+      }
+      mask |= 1 << (button - 1);
+    }
+    return match(mask, mask);
+  }
+
+  /**
+   * Creates an event that is true while the buttons in the mask have the given value, and no more
+   * specific chord matches. For example, a mask of A and B with a value of A matches A held without
+   * B.
+   *
+   * @param mask the bits of the buttons the chord looks at
+   * @param value the bits that must be set, within the mask
+   * @return the chord event
+   */
+  public BooleanEvent match(int mask, int value) {
+    if (mask == 0 || (value & ~mask) != 0) {
+      throw new IllegalArgumentException("value must be within a non-empty mask");
+    }
+    int chord = m_masks.length;
+    m_masks = Arrays.copyOf(m_masks, chord + 1);
+    m_values = Arrays.copyOf(m_values, chord + 1);
+    m_suppressors = Arrays.copyOf(m_suppressors, chord + 1);
+    m_matched = Arrays.copyOf(m_matched, chord + 1);
+    m_active = Arrays.copyOf(m_active, chord + 1);
+    m_masks[chord] = mask;
+    m_values[chord] = value;
+    m_suppressors[chord] = new int[0];
+    for (int other = 0; other < chord; other++) {
+      if (isMoreSpecific(chord, other)) {
+        m_suppressors[other] = append(m_suppressors[other], chord);
+      } else if (isMoreSpecific(other, chord)) {
+        m_suppressors[chord] = append(m_suppressors[chord], other);
+      }
+    }
+    if (m_sampledPoll == EventTick.count()) {
+      // Match the new chord against the word already read in this tick, without reading it again.
+      matchChords(m_sampledButtons);
+    }
+    return new BooleanEvent(m_loop, () -> isActive(chord));
+  }
+
+  /** Returns whether a chord looks at more buttons than another and agrees with it on the rest. */
+  private boolean isMoreSpecific(int chord, int other) {
+    int otherMask = m_masks[other];
+    return m_masks[chord] != otherMask
+        && (m_masks[chord] & otherMask) == otherMask
+        && (m_values[chord] & otherMask) == m_values[other];
+  }
+
+  private static int[] append(int[] array, int value) {
+    int[] appended = Arrays.copyOf(array, array.length + 1);
+    appended[array.length] = value;
+    return appended;
+  }
+
+  /**
+   * Returns the button word as read during the current poll.
+   *
+   * @return the button word
+   */
+  public int getButtons() {
+    matchAll();
+    return m_sampledButtons;
+  }
+
+  private boolean isActive(int chord) {
+    matchAll();
+    return m_active[chord];
+  }
+
+  /** Reads the button word and matches every chord against it, at most once per tick. */
+  private void matchAll() {
+    long tick = EventTick.count();
+    if (m_sampledPoll == tick) {
+      return;
+    }
+    m_sampledPoll = tick;
+    m_sampledButtons = m_buttons.getAsInt();
+    matchChords(m_sampledButtons);
+  }
+
+  /** Matches every chord against the given button word, then suppresses the less specific ones. */
+  private void matchChords(int buttons) {
+    int[] masks = m_masks;
+    int[] values = m_values;
+    for (int i = 0; i < masks.length; i++) {
+      m_matched[i] = (buttons & masks[i]) == values[i];
+    }
+    for (int i = 0; i < masks.length; i++) {
+      boolean active = m_matched[i];
+      for (int suppressor : m_suppressors[i]) {
+        if (!active) {
+          break;
+        }
+        active = !m_matched[suppressor];
+      }
+      m_active[i] = active;
+    }
+  }
+}
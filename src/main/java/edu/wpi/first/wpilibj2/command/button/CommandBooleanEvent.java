@@ -12,7 +12,6 @@ import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 
-import java.util.Collection;
 import java.util.function.BooleanSupplier;
 
 /**
@@ -21,18 +20,40 @@ import java.util.function.BooleanSupplier;
  * <p>It is very easy to link an event to a command. For instance, you could link a button
  * of a joystick to a "score" command.
  *
+ * <p>Handlers run in the order described in {@link BooleanEvent}: edge bindings before level
+ * bindings, whatever order they were bound in.
+ *
  * <p>This class is provided by the NewCommands VendorDep
  */
 public class CommandBooleanEvent extends BooleanEvent {
+  private static EventLoop s_defaultLoop;
+  private static Runnable s_defaultLoopButton;
+  private static boolean s_latencyListenerAdded;
+  private static Command s_latencyCommand;
+  private static CommandBooleanEvent s_latencyEvent;
+  private static LatencyHistogram s_latencyHistogram;
+  private static long s_latencyEdgeTime;
+
+  private final LatencyHistogram m_commandLatency = new LatencyHistogram();
 
   /**
-   * Creates a new BooleanEvent that monitors the given condition.
+   * Creates a new BooleanEvent that monitors the given condition, polled by the
+   * {@link CommandBooleanEvent#getDefaultLoop() default loop}.
    *
    * @param eventSupplier the condition the BooleanEvent should monitor.
    */
   public CommandBooleanEvent(BooleanSupplier eventSupplier) {
-    super(eventSupplier);
-    CommandScheduler.getInstance().addButton(this::poll);
+    this(getDefaultLoop(), eventSupplier);
+  }
+
+  /**
+   * Creates a new BooleanEvent that monitors the given condition and is polled by the given loop.
+   *
+   * @param loop the loop that polls this BooleanEvent.
+   * @param eventSupplier the condition the BooleanEvent should monitor.
+   */
+  public CommandBooleanEvent(EventLoop loop, BooleanSupplier eventSupplier) {
+    super(loop, eventSupplier);
   }
 
   /**
@@ -44,10 +65,96 @@ public class CommandBooleanEvent extends BooleanEvent {
   }
 
 
-  protected CommandBooleanEvent(BooleanSupplier eventSupplier, Collection<Runnable> handlers) {
+  protected CommandBooleanEvent(BooleanSupplier eventSupplier, HandlerList handlers) {
     super(eventSupplier, handlers);
   }
 
+  /**
+   * Returns the loop that polls CommandBooleanEvents created without an explicit loop. All of these
+   * events are polled in a single pass of {@link CommandScheduler#run()}.
+   *
+   * <p>The loop is registered with the {@link CommandScheduler} the first time this is called.
+   * {@link CommandScheduler#clearButtons()} removes it along with every other button; call {@link
+   * CommandBooleanEvent#rebindDefaultLoop()} afterwards to have its events polled again.
+   *
+   * @return the default loop
+   */
+  public static EventLoop getDefaultLoop() {
+    if (s_defaultLoopButton == null) {
+      rebindDefaultLoop();
+    }
+    return s_defaultLoop;
+  }
+
+  /**
+   * Registers the {@link CommandBooleanEvent#getDefaultLoop() default loop} with the {@link
+   * CommandScheduler} again, after {@link CommandScheduler#clearButtons()} has removed it. Events
+   * bound to the default loop keep their bindings, and are polled again from the next pass.
+   *
+   * <p>The scheduler cannot report whether the loop is still registered, so if it is, the earlier
+   * registration stops polling and the loop is still polled once per pass. Do not call this from a
+   * button or command, while the scheduler is running its buttons.
+   */
+  public static void rebindDefaultLoop() {
+    if (s_defaultLoop == null) {
+      s_defaultLoop = new EventLoop();
+    }
+    Runnable button =
+        new Runnable() {
+          @Override
+          public void run() {
+            if (s_defaultLoopButton == this) {
+              s_defaultLoop.poll();
+            }
+          }
+        };
+    s_defaultLoopButton = button;
+    CommandScheduler.getInstance().addButton(button);
+  }
+
+  /**
+   * Returns the latencies from a rising edge of this BooleanEvent to the end of the {@code
+   * initialize()} of the command it scheduled through {@link CommandBooleanEvent#onTrue(Command)}.
+   * The edge time is the one from {@link BooleanEvent#getLastRisingEdgeTime()}.
+   *
+   * <p>Only commands that are initialized while they are being scheduled are measured; a command
+   * scheduled while the scheduler is running commands is initialized later, and is not.
+   *
+   * @return the latency histogram of this BooleanEvent
+   */
+  public LatencyHistogram getCommandLatency() {
+    return m_commandLatency;
+  }
+
+  /**
+   * Schedules a command, recording the latency from the last rising edge to its initialization.
+   * The scheduler initializes a command synchronously inside schedule(), so the listener only has
+   * to match the command being scheduled right now.
+   */
+  private void scheduleMeasured(Command command) {
+    if (!s_latencyListenerAdded) {
+      CommandScheduler.getInstance().onCommandInitialize(CommandBooleanEvent::onCommandInitialize);
+      s_latencyListenerAdded = true;
+    }
+    s_latencyCommand = command;
+    s_latencyEvent = this;
+    s_latencyHistogram = m_commandLatency;
+    s_latencyEdgeTime = getLastRisingEdgeTime();
+    try {
+      command.schedule();
+    } finally {
+      s_latencyCommand = null;
+      s_latencyEvent = null;
+      s_latencyHistogram = null;
+    }
+  }
+
+  private static void onCommandInitialize(Command command) {
+    if (command == s_latencyCommand && s_latencyEdgeTime >= 0) {
+      s_latencyHistogram.record(s_latencyEvent.now() - s_latencyEdgeTime);
+    }
+  }
+
   /**
    * Removes all bindings from this BooleanEvent.
    * 
@@ -99,21 +206,50 @@ public class CommandBooleanEvent extends BooleanEvent {
 
 
 
+  @Override
+  public CommandBooleanEvent pollEvery(int ticks) {
+    super.pollEvery(ticks);
+    return this;
+  }
+
+  @Override
+  public CommandBooleanEvent withHistory(int capacity) {
+    super.withHistory(capacity);
+    return this;
+  }
+
+  @Override
+  public CommandBooleanEvent withName(String name) {
+    super.withName(name);
+    return this;
+  }
+
+  @Override
+  public CommandBooleanEvent onChange(BooleanConsumer handler) {
+    super.onChange(handler);
+    return this;
+  }
+
   /**
    * Starts the given command whenever the BooleanEvent becomes true. 
    * 
-   * <p>The command is set to be interruptible, and will not be restarted if it ends.
+   * <p>The command is set to be interruptible, and will not be restarted if it ends. The time from
+   * each edge to the initialization of the command is recorded in {@link
+   * CommandBooleanEvent#getCommandLatency()}.
    *
    * @param command the command to start
    * @return this BooleanEvent, so calls can be chained
    */
   public CommandBooleanEvent onTrue(final Command command) {
     requireNonNullParam(command, "command", "onTrue");
-    super.onTrue(()->{
-      if (!command.isScheduled()) {
-        command.schedule();
-      }
-    });
+    addHandlers(
+      () -> {
+        if (!command.isScheduled()) {
+          scheduleMeasured(command);
+        }
+      },
+      null,
+      null);
     return this;
   }
 
@@ -127,26 +263,16 @@ public class CommandBooleanEvent extends BooleanEvent {
    */
   public CommandBooleanEvent whileTrueContinuous(final Command command) {
     requireNonNullParam(command, "command", "whileTrueContinuous");
-    addHandler(
-      new Runnable() {
-        private boolean m_stateLast = get();
-
-        @Override
-        public void run() {
-          boolean state = get();
-
-          if (state == true) {
-            if (!command.isScheduled()) {
-              command.schedule();
-            }
-          }
-          if (m_stateLast == true && state == false) {
-            if (command.isScheduled()) {
-              command.cancel();
-            }
-          }
-
-          m_stateLast = state;
+    addHandlers(
+      null,
+      () -> {
+        if (command.isScheduled()) {
+          command.cancel();
+        }
+      },
+      () -> {
+        if (!command.isScheduled()) {
+          command.schedule();
         }
       });
     return this;
@@ -162,19 +288,18 @@ public class CommandBooleanEvent extends BooleanEvent {
    */
   public CommandBooleanEvent whileTrueOnce(final Command command) {
     requireNonNullParam(command, "command", "whileTrueOnce");
-    onChange(
-      state -> {
-        if(state == true){
-          if (!command.isScheduled()) {
-            command.schedule();
-          }
+    addHandlers(
+      () -> {
+        if (!command.isScheduled()) {
+          command.schedule();
         }
-        else {
-          if (command.isScheduled()) {
-            command.cancel();
-          }
+      },
+      () -> {
+        if (command.isScheduled()) {
+          command.cancel();
         }
-      });
+      },
+      null);
     return this;
   }
   
@@ -188,15 +313,16 @@ public class CommandBooleanEvent extends BooleanEvent {
    */
   public CommandBooleanEvent toggleOnTrue(final Command command) {
     requireNonNullParam(command, "command", "toggleOnTrue");
-    super.onTrue(
-      ()->{
+    addHandlers(
+      () -> {
         if (command.isScheduled()) {
           command.cancel();
         } else {
           command.schedule();
         }
-      }
-    );
+      },
+      null,
+      null);
     return this;
   }
 
@@ -208,44 +334,56 @@ public class CommandBooleanEvent extends BooleanEvent {
    */
   public CommandBooleanEvent cancelOnTrue(final Command command) {
     requireNonNullParam(command, "command", "cancelOnTrue");
-    super.onTrue(
-      ()-> {
+    addHandlers(
+      () -> {
         if (command.isScheduled()) {
           command.cancel();
         }
-      }
-    );
+      },
+      null,
+      null);
     return this;
   }
 
   /* COMPOSITION */
+
+  private static CommandBooleanEvent derive(EventLoop loop, BooleanSupplier condition) {
+    return new CommandBooleanEvent(loop != null ? loop : getDefaultLoop(), condition);
+  }
+
   /**
    * Composes this BooleanEvent with another BooleanEvent, returning a new BooleanEvent that is true when both
    * BooleanEvents are true.
    *
+   * <p>The composed BooleanEvent starts with no bindings of its own, and binding to it does not
+   * affect either operand. It is polled by the loop of this BooleanEvent, or else by the loop of the
+   * other one, or else by the default loop.
+   *
    * @param eventListener the BooleanEvent to compose with
    * @return the BooleanEvent that is true when both BooleanEvents are true
    */
   public CommandBooleanEvent and(BooleanEvent eventListener) {
-    Collection<Runnable> handlers = m_handlers;
-    handlers.addAll(eventListener.m_handlers);
-    return new CommandBooleanEvent(
-      () -> get() && eventListener.get(),
-      handlers);
+    return withInputs(
+      derive(loopOf(this, eventListener), () -> getPolled() && eventListener.getPolled()),
+      this,
+      eventListener);
   }
   /**
    * Composes this BooleanEvent with another BooleanEvent, returning a new BooleanEvent that is true when either
    * BooleanEvent is true.
    *
+   * <p>The composed BooleanEvent starts with no bindings of its own, and binding to it does not
+   * affect either operand. It is polled by the loop of this BooleanEvent, or else by the loop of the
+   * other one, or else by the default loop.
+   *
    * @param eventListener the BooleanEvent to compose with
    * @return the BooleanEvent that is true when either BooleanEvent is true
    */
   public CommandBooleanEvent or(BooleanEvent eventListener) {
-    Collection<Runnable> handlers = m_handlers;
-    handlers.addAll(eventListener.m_handlers);
-    return new CommandBooleanEvent(
-      () -> get() || eventListener.get(),
-      handlers);
+    return withInputs(
+      derive(loopOf(this, eventListener), () -> getPolled() || eventListener.getPolled()),
+      this,
+      eventListener);
   }
 
   /**
@@ -258,7 +396,7 @@ public class CommandBooleanEvent extends BooleanEvent {
    * @return the negated BooleanEvent
    */
   public CommandBooleanEvent negate() {
-    return new CommandBooleanEvent(() -> !get());
+    return withInputs(derive(m_loop, () -> !getPolled()), this);
   }
 
   /**
@@ -276,20 +414,74 @@ public class CommandBooleanEvent extends BooleanEvent {
    * Creates a new debounced BooleanEvent from this BooleanEvent - it will become true when this BooleanEvent has
    * been true for longer than the specified period.
    *
+   * <p>Time is measured with the timestamp of the current tick, taken from the clock of the loop
+   * that polls it, so evaluating a debounced BooleanEvent does not read the clock itself.
+   *
+   * <p>Like {@link CommandBooleanEvent#and(BooleanEvent)}, the debounced BooleanEvent has its own
+   * bindings and is polled by the loop of this BooleanEvent.
+   *
    * @param seconds The debounce period.
    * @param type The debounce type.
    * @return The debounced BooleanEvent.
    */
   public CommandBooleanEvent debounce(double seconds, Debouncer.DebounceType type) {
-    return new CommandBooleanEvent(
+    return derive(
+        m_loop,
         new BooleanSupplier() {
-          Debouncer m_debouncer = new Debouncer(seconds, type);
+          TickDebouncer m_debouncer = new TickDebouncer(seconds, type, clockOf(m_loop));
 
           @Override
           public boolean getAsBoolean() {
-            return m_debouncer.calculate(get());
+            return m_debouncer.calculate(getPolled());
           }
-        },
-        m_handlers);
+        });
+  }
+
+  /* GESTURES */
+
+  /**
+   * Creates a new BooleanEvent that becomes true when this BooleanEvent becomes true twice within
+   * the given window, and stays true while the second press is held.
+   *
+   * @param windowSeconds the longest time between the two rising edges, in seconds
+   * @return the double-tap BooleanEvent
+   * @see BooleanEvent#doubleTap(double)
+   */
+  @Override
+  public CommandBooleanEvent doubleTap(double windowSeconds) {
+    return derive(m_loop, gesture(m_loop, this, this, windowSeconds));
+  }
+
+  /**
+   * Creates a new BooleanEvent that becomes true when this BooleanEvent has been held true for the
+   * given duration, and stays true until it is released.
+   *
+   * @param durationSeconds how long the BooleanEvent must be held, in seconds
+   * @return the long-press BooleanEvent
+   * @see BooleanEvent#longPress(double)
+   */
+  @Override
+  public CommandBooleanEvent longPress(double durationSeconds) {
+    return debounce(durationSeconds, Debouncer.DebounceType.kRising);
+  }
+
+  /**
+   * Creates a new BooleanEvent that becomes true when the second BooleanEvent becomes true within
+   * the given time after the first one did, and stays true while the second is held. It is polled
+   * by the loop of the first BooleanEvent, or else by the loop of the second, or else by the
+   * default loop.
+   *
+   * @param first the BooleanEvent that starts the sequence
+   * @param second the BooleanEvent that completes the sequence
+   * @param withinSeconds the longest time between the two rising edges, in seconds
+   * @return the sequence BooleanEvent
+   * @see BooleanEvent#sequence(BooleanEvent, BooleanEvent, double)
+   */
+  public static CommandBooleanEvent sequence(
+      BooleanEvent first, BooleanEvent second, double withinSeconds) {
+    requireNonNullParam(first, "first", "sequence");
+    requireNonNullParam(second, "second", "sequence");
+    EventLoop loop = loopOf(first, second);
+    return derive(loop, gesture(loop, first, second, withinSeconds));
   }
 }
@@ -0,0 +1,161 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Creates events for one controller from a snapshot of its state, read once per tick.
+ *
+ * <p>An event made with {@code new BooleanEvent(loop, controller::getAButton)} reads the controller
+ * by itself. The events made here instead test a bit, or index an array, of a snapshot taken the
+ * first time anything reads the controller in a tick: the button word with one {@link
+ * DriverStation#getStickButtons(int)}, and the axes and POV only if an axis or POV event exists.
+ * Every event of the controller, however many, shares that one read.
+ *
+ * <pre>{@code
+ * ControllerEvents driver = new ControllerEvents(loop, 0);
+ * new CommandBooleanEvent(loop, driver.button(XboxController.Button.kA.value)).onTrue(intake);
+ * driver.axis(XboxController.Axis.kRightTrigger.value).above(0.5).onTrue(shoot::schedule);
+ * driver.chords().chord(5, 6, 1).onTrue(climb::schedule);
+ * }</pre>
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class ControllerEvents {
+  private static final int kMaxAxes = 12;
+
+  private final EventLoop m_loop;
+  private final int m_port;
+  private final double[] m_axes = new double[kMaxAxes];
+  private boolean m_readAxes;
+  private boolean m_readPov;
+  private long m_sampledPoll = -1;
+  private int m_buttons;
+  private int m_pov = -1;
+  private ChordMatcher m_chords;
+
+  /**
+   * Creates a new ControllerEvents.
+   *
+   * @param loop the loop that polls the events
+   * @param port the port of the controller on the Driver Station
+   */
+  public ControllerEvents(EventLoop loop, int port) {
+    m_loop = requireNonNullParam(loop, "loop", "ControllerEvents");
+    m_port = port;
+  }
+
+  /**
+   * Returns the port of the controller.
+   *
+   * @return the port on the Driver Station
+   */
+  public int getPort() {
+    return m_port;
+  }
+
+  /** Reads the controller, at most once per tick. */
+  private void snapshot() {
+    long tick = EventTick.count();
+    if (m_sampledPoll == tick) {
+      return;
+    }
+    m_sampledPoll = tick;
+    m_buttons = DriverStation.getStickButtons(m_port);
+    if (m_readAxes) {
+      int count = Math.min(DriverStation.getStickAxisCount(m_port), kMaxAxes);
+      for (int i = 0; i < count; i++) {
+        m_axes[i] = DriverStation.getStickAxis(m_port, i);
+      }
+      for (int i = count; i < kMaxAxes; i++) {
+        m_axes[i] = 0;
+      }
+    }
+    if (m_readPov) {
+      m_pov = DriverStation.getStickPOV(m_port, 0);
+    }
+  }
+
+  /**
+   * Returns the button word of the snapshot: button {@code n} is bit {@code n - 1}.
+   *
+   * @return the button word
+   */
+  public int getButtons() {
+    snapshot();
+    return m_buttons;
+  }
+
+  /**
+   * Creates an event that is true while the given button is held.
+   *
+   * @param button the button, numbered from 1
+   * @return the button event
+   */
+  public BooleanEvent button(int button) {
+    if (button < 1 || button > 32) {
+      throw new IllegalArgumentException("Button out of range: " + button);
+    }
+    int bit = 1 << (button - 1);
+    return new BooleanEvent(m_loop, () -> (getButtons() & bit) != 0);
+  }
+
+  /**
+   * Creates a DoubleEvent that follows the given axis.
+   *
+   * @param axis the axis, numbered from 0
+   * @return the axis event
+   */
+  public DoubleEvent axis(int axis) {
+    if (axis < 0 || axis >= kMaxAxes) {
+      throw new IllegalArgumentException("Axis out of range: " + axis);
+    }
+    if (!m_readAxes) {
+      m_readAxes = true;
+      m_sampledPoll = -1;
+    }
+    return new DoubleEvent(
+        m_loop,
+        () -> {
+          snapshot();
+          return m_axes[axis];
+        });
+  }
+
+  /**
+   * Creates an event that is true while the first POV hat points at the given angle.
+   *
+   * @param angle the angle in degrees, clockwise from up, in multiples of 45
+   * @return the POV event
+   */
+  public BooleanEvent pov(int angle) {
+    if (!m_readPov) {
+      m_readPov = true;
+      m_sampledPoll = -1;
+    }
+    return new BooleanEvent(
+        m_loop,
+        () -> {
+          snapshot();
+          return m_pov == angle;
+        });
+  }
+
+  /**
+   * Returns the chord matcher of this controller, which matches chords against the button word of
+   * the snapshot.
+   *
+   * @return the chord matcher
+   */
+  public ChordMatcher chords() {
+    if (m_chords == null) {
+      m_chords = new ChordMatcher(m_loop, this::getButtons);
+    }
+    return m_chords;
+  }
+}
@@ -0,0 +1,170 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+/**
+ * This class provides threshold events on a numeric input such as a sensor or joystick axis.
+ *
+ * <p>The input is sampled at most once per tick, and every threshold event made from the same
+ * DoubleEvent compares against that one sample, so adding thresholds does not add sensor reads. All
+ * values stay primitive.
+ *
+ * <p>The threshold events are plain {@link BooleanEvent}s polled by the same loop as this
+ * DoubleEvent. To bind commands to one, wrap it: {@code new CommandBooleanEvent(loop,
+ * elevator.above(1.2))}; the wrapper still reads the shared sample.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public class DoubleEvent implements DoubleSupplier {
+  private final EventLoop m_loop;
+  private final DoubleSupplier m_valueSupplier;
+
+  private long m_sampledPoll = -1;
+  private double m_sampledValue;
+
+  /**
+   * Creates a new DoubleEvent whose threshold events are polled by the given loop.
+   *
+   * @param loop the loop that polls the threshold events.
+   * @param valueSupplier the value the DoubleEvent should monitor.
+   */
+  public DoubleEvent(EventLoop loop, DoubleSupplier valueSupplier) {
+    m_loop = requireNonNullParam(loop, "loop", "DoubleEvent");
+    m_valueSupplier = requireNonNullParam(valueSupplier, "valueSupplier", "DoubleEvent");
+  }
+
+  /**
+   * Returns the current value of the input.
+   *
+   * @return the current value
+   */
+  public double get() {
+    return getAsDouble();
+  }
+
+  /**
+   * Returns the current value of the input.
+   *
+   * @return the current value
+   */
+  @Override
+  public double getAsDouble() {
+    return m_valueSupplier.getAsDouble();
+  }
+
+  /**
+   * Returns the value of the input as sampled during the current poll. The first call in each poll
+   * evaluates {@link DoubleEvent#get()}; later calls in the same poll return the cached value.
+   *
+   * @return the value sampled during the current poll
+   */
+  protected final double getPolled() {
+    long tick = EventTick.count();
+    if (m_sampledPoll != tick) {
+      m_sampledValue = get();
+      m_sampledPoll = tick;
+    }
+    return m_sampledValue;
+  }
+
+  /**
+   * Returns the loop that polls the threshold events made from this DoubleEvent.
+   *
+   * @return the loop
+   */
+  public EventLoop getLoop() {
+    return m_loop;
+  }
+
+  /**
+   * Creates a BooleanEvent that is true while the value is greater than the threshold.
+   *
+   * @param threshold the threshold
+   * @return the threshold event
+   */
+  public BooleanEvent above(double threshold) {
+    return new BooleanEvent(m_loop, () -> getPolled() > threshold);
+  }
+
+  /**
+   * Creates a BooleanEvent that is true while the value is less than the threshold.
+   *
+   * @param threshold the threshold
+   * @return the threshold event
+   */
+  public BooleanEvent below(double threshold) {
+    return new BooleanEvent(m_loop, () -> getPolled() < threshold);
+  }
+
+  /**
+   * Creates a BooleanEvent that is true while the value is within the given range, inclusive.
+   *
+   * @param lower the lower bound
+   * @param upper the upper bound
+   * @return the range event
+   */
+  public BooleanEvent between(double lower, double upper) {
+    requireOrdered(lower, upper);
+    return new BooleanEvent(
+        m_loop,
+        () -> {
+          double value = getPolled();
+          return value >= lower && value <= upper;
+        });
+  }
+
+  /**
+   * Creates a Schmitt-trigger BooleanEvent: it becomes true when the value rises above the upper
+   * threshold, and stays true until the value falls below the lower threshold. A value that
+   * hovers near a single threshold therefore does not make it chatter.
+   *
+   * @param lower the threshold below which the event becomes false
+   * @param upper the threshold above which the event becomes true
+   * @return the hysteresis event
+   */
+  public BooleanEvent withHysteresis(double lower, double upper) {
+    requireOrdered(lower, upper);
+    return new BooleanEvent(
+        m_loop,
+        new BooleanSupplier() {
+          private boolean m_state;
+
+          @Override
+          public boolean getAsBoolean() {
+            double value = getPolled();
+            if (value > upper) {
+              m_state = true;
+            } else if (value < lower) {
+              m_state = false;
+            }
+            return m_state;
+          }
+        });
+  }
+
+  /**
+   * Creates a set of bands divided by the given thresholds, which are sampled together with one
+   * binary search per tick. Prefer this over many {@link DoubleEvent#above(double)} events when the
+   * input has many setpoints.
+   *
+   * @param thresholds the thresholds, in any order
+   * @return the threshold bands
+   */
+  public ThresholdBands bands(double... thresholds) {
+    requireNonNullParam(thresholds, "thresholds", "bands");
+    return new ThresholdBands(this, thresholds);
+  }
+
+  private static void requireOrdered(double lower, double upper) {
+    if (lower > upper) {
+      throw new IllegalArgumentException("lower must not be greater than upper");
+    }
+  }
+}
@@ -0,0 +1,348 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps the state of many events as bits in a {@code long[]}, for robots with hundreds or thousands
+ * of conditions.
+ *
+ * <p>Each event made by this EventBitset is given a bit. Once per tick, every leaf condition is
+ * sampled into its bit, and then every composed bit is computed in the order it was made: {@link
+ * EventBitset#allOf(BitEvent...)} and {@link EventBitset#anyOf(BitEvent...)} compare whole words
+ * against a mask, and {@link EventBitset#negate(BitEvent)} flips one bit. The words are then XORed
+ * with those of the previous tick, and only the events whose bit changed, or that have handlers
+ * that run on every tick, are dispatched.
+ *
+ * <p>BitEvents are ordinary BooleanEvents, and can be composed with events outside the bitset.
+ * {@code and}, {@code or} and {@code negate} between BitEvents of the same EventBitset make new
+ * bits.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class EventBitset {
+  private static final int kNot = 0;
+  private static final int kAll = 1;
+  private static final int kAny = 2;
+
+  private final EventLoop m_loop;
+  private BitEvent[] m_events = new BitEvent[0];
+  private BooleanSupplier[] m_leafConditions = new BooleanSupplier[0];
+  private int[] m_leafBits = new int[0];
+  private Op[] m_ops = new Op[0];
+  private long[] m_current = new long[1];
+  private long[] m_previous = new long[1];
+  private long[] m_levelMask = new long[1];
+  private long m_sampledPoll = -1;
+  private boolean m_dispatched;
+
+  /** A composed bit, computed from the bits sampled or computed before it. */
+  private static final class Op {
+    final int m_code;
+    final int m_target;
+    final int m_source;
+    final long[] m_mask;
+
+    Op(int code, int target, int source, long[] mask) {
+      m_code = code;
+      m_target = target;
+      m_source = source;
+      m_mask = mask;
+    }
+  }
+
+  /**
+   * Creates a new EventBitset whose events are dispatched by the given loop.
+   *
+   * @param loop the loop that polls the events
+   */
+  public EventBitset(EventLoop loop) {
+    m_loop = requireNonNullParam(loop, "loop", "EventBitset");
+    loop.bindDispatcher(this::dispatch);
+  }
+
+  /**
+   * Returns the number of bits in use.
+   *
+   * @return the number of events made by this EventBitset
+   */
+  public int size() {
+    return m_events.length;
+  }
+
+  /**
+   * Creates a leaf event that samples the given condition into its bit once per tick.
+   *
+   * @param condition the condition to sample
+   * @return the leaf event
+   */
+  public BitEvent add(BooleanSupplier condition) {
+    requireNonNullParam(condition, "condition", "add");
+    BitEvent event = newBit();
+    int leaves = m_leafConditions.length;
+    m_leafConditions = Arrays.copyOf(m_leafConditions, leaves + 1);
+    m_leafConditions[leaves] = condition;
+    m_leafBits = Arrays.copyOf(m_leafBits, leaves + 1);
+    m_leafBits[leaves] = event.m_bit;
+    if (m_sampledPoll == EventTick.count()) {
+      // Give the new bit a value in the current tick without sampling the other leaves again.
+      setBit(m_current, event.m_bit, condition.getAsBoolean());
+    }
+    return event;
+  }
+
+  /**
+   * Creates an event that is true while every one of the given events is true.
+   *
+   * @param events the events, all made by this EventBitset
+   * @return the composed event
+   */
+  public BitEvent allOf(BitEvent... events) {
+    return addOp(kAll, -1, maskOf(events));
+  }
+
+  /**
+   * Creates an event that is true while any of the given events is true.
+   *
+   * @param events the events, all made by this EventBitset
+   * @return the composed event
+   */
+  public BitEvent anyOf(BitEvent... events) {
+    return addOp(kAny, -1, maskOf(events));
+  }
+
+  /**
+   * Creates an event that is true while the given event is false.
+   *
+   * @param event the event, made by this EventBitset
+   * @return the negated event
+   */
+  public BitEvent negate(BitEvent event) {
+    return addOp(kNot, own(event).m_bit, null);
+  }
+
+  private BitEvent addOp(int code, int source, long[] mask) {
+    BitEvent event = newBit();
+    Op op = new Op(code, event.m_bit, source, mask);
+    m_ops = Arrays.copyOf(m_ops, m_ops.length + 1);
+    m_ops[m_ops.length - 1] = op;
+    if (m_sampledPoll == EventTick.count()) {
+      apply(op, m_current);
+    }
+    return event;
+  }
+
+  private long[] maskOf(BitEvent... events) {
+    requireNonNullParam(events, "events", "maskOf");
+    if (events.length == 0) {
+      throw new IllegalArgumentException("At least one event is required");
+    }
+    int maxBit = 0;
+    for (BitEvent event : events) {
+      maxBit = Math.max(maxBit, own(event).m_bit);
+    }
+    long[] mask = new long[(maxBit >>> 6) + 1];
+    for (BitEvent event : events) {
+      mask[event.m_bit >>> 6] |= 1L << event.m_bit;
+    }
+    return mask;
+  }
+
+  private BitEvent own(BitEvent event) {
+    requireNonNullParam(event, "event", "EventBitset");
+    if (event.getBitset() != this) {
+      throw new IllegalArgumentException("Event belongs to another EventBitset");
+    }
+    return event;
+  }
+
+  private BitEvent newBit() {
+    int bit = m_events.length;
+    if ((bit >>> 6) >= m_current.length) {
+      int words = m_current.length * 2;
+      m_current = Arrays.copyOf(m_current, words);
+      m_previous = Arrays.copyOf(m_previous, words);
+      m_levelMask = Arrays.copyOf(m_levelMask, words);
+    }
+    BitEvent event = new BitEvent(bit);
+    m_events = Arrays.copyOf(m_events, bit + 1);
+    m_events[bit] = event;
+    m_loop.addDispatched(event);
+    return event;
+  }
+
+  /** Samples every leaf and computes every composed bit, at most once per tick. */
+  private void sampleBits() {
+    long tick = EventTick.count();
+    if (m_sampledPoll == tick) {
+      return;
+    }
+    m_sampledPoll = tick;
+    long[] words = m_current;
+    BooleanSupplier[] conditions = m_leafConditions;
+    int[] leafBits = m_leafBits;
+    for (int i = 0; i < conditions.length; i++) {
+      setBit(words, leafBits[i], conditions[i].getAsBoolean());
+    }
+    for (Op op : m_ops) {
+      apply(op, words);
+    }
+  }
+
+  /** Computes one composed bit from the bits sampled or computed before it. */
+  private static void apply(Op op, long[] words) {
+    boolean value;
+    switch (op.m_code) {
+      case kNot:
+        value = !testBit(words, op.m_source);
+        break;
+      case kAll:
+        value = true;
+        for (int w = 0; w < op.m_mask.length; w++) {
+          if ((words[w] & op.m_mask[w]) != op.m_mask[w]) {
+            value = false;
+            break;
+          }
+        }
+        break;
+      default:
+        value = false;
+        for (int w = 0; w < op.m_mask.length; w++) {
+          if ((words[w] & op.m_mask[w]) != 0) {
+            value = true;
+            break;
+          }
+        }
+        break;
+    }
+    setBit(words, op.m_target, value);
+  }
+
+  private static boolean testBit(long[] words, int bit) {
+    return (words[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  private static void setBit(long[] words, int bit, boolean value) {
+    if (value) {
+      words[bit >>> 6] |= 1L << bit;
+    } else {
+      words[bit >>> 6] &= ~(1L << bit);
+    }
+  }
+
+  /** Dispatches the events whose bit changed, and the events with level handlers. */
+  private void dispatch() {
+    sampleBits();
+    BitEvent[] events = m_events;
+    long[] current = m_current;
+    long[] previous = m_previous;
+    long[] levelMask = m_levelMask;
+    boolean all = !m_dispatched;
+    m_dispatched = true;
+    for (int w = 0; w < current.length; w++) {
+      long dispatch = all ? -1L : (current[w] ^ previous[w]) | levelMask[w];
+      previous[w] = current[w];
+      while (dispatch != 0) {
+        int bit = (w << 6) + Long.numberOfTrailingZeros(dispatch);
+        dispatch &= dispatch - 1;
+        if (bit >= events.length) {
+          break;
+        }
+        events[bit].dispatchFromDispatcher();
+      }
+    }
+  }
+
+  /**
+   * An event whose state is one bit of an {@link EventBitset}.
+   *
+   * <p>This class is provided by the NewCommands VendorDep
+   */
+  public final class BitEvent extends BooleanEvent {
+    private final int m_bit;
+
+    private BitEvent(int bit) {
+      m_bit = bit;
+    }
+
+    /**
+     * Returns the EventBitset this event belongs to.
+     *
+     * @return the EventBitset
+     */
+    public EventBitset getBitset() {
+      return EventBitset.this;
+    }
+
+    /**
+     * Returns the index of the bit of this event.
+     *
+     * @return the bit index
+     */
+    public int getBit() {
+      return m_bit;
+    }
+
+    /**
+     * Returns the bit of this event as sampled during the current poll.
+     *
+     * @return whether the bit is set
+     */
+    @Override
+    public boolean getAsBoolean() {
+      sampleBits();
+      return testBit(m_current, m_bit);
+    }
+
+    @Override
+    protected void addHandler(Runnable handler) {
+      super.addHandler(handler);
+      m_levelMask[m_bit >>> 6] |= 1L << m_bit;
+    }
+
+    @Override
+    protected void addHandlers(Runnable onRising, Runnable onFalling, Runnable whileTrue) {
+      super.addHandlers(onRising, onFalling, whileTrue);
+      if (whileTrue != null) {
+        m_levelMask[m_bit >>> 6] |= 1L << m_bit;
+      }
+    }
+
+    @Override
+    public void clearBindings() {
+      super.clearBindings();
+      m_levelMask[m_bit >>> 6] &= ~(1L << m_bit);
+    }
+
+    @Override
+    public BooleanEvent and(BooleanEvent eventListener) {
+      if (isSibling(eventListener)) {
+        return allOf(this, (BitEvent) eventListener);
+      }
+      return super.and(eventListener);
+    }
+
+    @Override
+    public BooleanEvent or(BooleanEvent eventListener) {
+      if (isSibling(eventListener)) {
+        return anyOf(this, (BitEvent) eventListener);
+      }
+      return super.or(eventListener);
+    }
+
+    private boolean isSibling(BooleanEvent event) {
+      return event instanceof BitEvent && ((BitEvent) event).getBitset() == EventBitset.this;
+    }
+
+    @Override
+    public BooleanEvent negate() {
+      return EventBitset.this.negate(this);
+    }
+  }
+}
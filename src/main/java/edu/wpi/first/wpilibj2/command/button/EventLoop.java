@@ -0,0 +1,370 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * A collection of {@link BooleanEvent}s that are polled together.
+ *
+ * <p>Each call to {@link EventLoop#poll()} is one tick: every bound event's condition is sampled at
+ * most once, and then the handlers of every event that is due are run.
+ * Loops are independent of each other, so a robot can keep one loop per mode and poll only the
+ * loops that apply, for example from {@code Robot.robotPeriodic()} or {@code teleopPeriodic()}.
+ *
+ * <p>Events are sampled and dispatched at their {@link BooleanEvent#pollEvery(int) poll period}:
+ * the loop keeps buckets of events by period and only visits the buckets that are due on each tick,
+ * so a slow, expensive condition is not evaluated on the ticks in between. To sample a condition
+ * faster than the loop runs, use a {@link LatchedSampler}.
+ *
+ * <p>Events with the same period are spread over the ticks of that period, so their cost does not
+ * all land on one tick: the {@code k}-th event bound with period {@code N} is due on the ticks where
+ * the tick count modulo {@code N} is {@code k mod N}. Ten events polled every five ticks thus cost
+ * two evaluations per tick. The phases are reassigned when events with that period are bound,
+ * unbound or change period, so an event may be polled one tick early or late when that happens.
+ *
+ * <p>Due events are dispatched bucket by bucket, in increasing order of poll period, and in the
+ * order they were bound within each bucket. Due events with the same poll period therefore run in
+ * binding order, but an event with a longer period runs after every due event with a shorter one,
+ * even if it was bound first.
+ *
+ * <p>Sources that know which of their events changed, such as {@link ThresholdBands} and {@link
+ * EventBitset}, dispatch those events themselves from a {@link EventLoop#bindDispatcher(Runnable)
+ * dispatcher}, which runs on every tick after the bound events.
+ *
+ * <p>{@link CommandBooleanEvent}s are bound to {@link CommandBooleanEvent#getDefaultLoop()}, which is
+ * polled by the {@link edu.wpi.first.wpilibj2.command.CommandScheduler}.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class EventLoop {
+  private static final BooleanEvent[] kEmpty = new BooleanEvent[0];
+  private static final Runnable[] kNoDispatchers = new Runnable[0];
+  private static final EventTimings[] kNoTimings = new EventTimings[0];
+
+  private final LongSupplier m_clock;
+  private BooleanEvent[] m_events = kEmpty;
+  // The timings of each bound event, kept by the loop so an event bound to several loops is timed
+  // separately by each; null entries while timing is disabled.
+  private EventTimings[] m_timings = kNoTimings;
+  private int[] m_periods = new int[0];
+  private int[] m_phases = new int[0];
+  private BooleanEvent[][] m_buckets = new BooleanEvent[0][];
+  private EventTimings[][] m_bucketTimings = new EventTimings[0][];
+  private Runnable[] m_dispatchers = kNoDispatchers;
+  private BooleanEvent[] m_dispatched = kEmpty;
+  private long m_tick;
+  private int m_timingWindow;
+
+  /** Creates a new EventLoop whose ticks are timestamped with FPGA time. */
+  public EventLoop() {
+    this(EventTick.kDefaultClock);
+  }
+
+  /**
+   * Creates a new EventLoop whose ticks are timestamped with the given clock. The clock is read at
+   * most once per tick, and only if something polled in that tick needs the time (such as
+   * {@link BooleanEvent#debounce(double)}), so a simulated or recorded clock makes time-based events
+   * deterministic.
+   *
+   * @param clock the clock, in microseconds
+   */
+  public EventLoop(LongSupplier clock) {
+    m_clock = requireNonNullParam(clock, "clock", "EventLoop");
+  }
+
+  /**
+   * Binds an event to this loop, so it is polled on the calls to {@link EventLoop#poll()} that fall
+   * on its poll period. Binding an event that is already bound has no effect.
+   *
+   * @param event the event to bind
+   */
+  public void bind(BooleanEvent event) {
+    requireNonNullParam(event, "event", "bind");
+    if (isBound(event)) {
+      return;
+    }
+    BooleanEvent[] events = Arrays.copyOf(m_events, m_events.length + 1);
+    events[m_events.length] = event;
+    EventTimings[] timings = Arrays.copyOf(m_timings, m_timings.length + 1);
+    if (m_timingWindow > 0) {
+      timings[m_timings.length] = new EventTimings(event, m_timingWindow);
+    }
+    m_events = events;
+    m_timings = timings;
+    if (event.m_loop == null) {
+      event.m_loop = this;
+    }
+    rebucket();
+  }
+
+  /**
+   * Removes an event from this loop. The event keeps its bindings.
+   *
+   * @param event the event to remove
+   */
+  public void unbind(BooleanEvent event) {
+    BooleanEvent[] events = m_events;
+    for (int i = 0; i < events.length; i++) {
+      if (events[i] == event) {
+        BooleanEvent[] remaining = new BooleanEvent[events.length - 1];
+        System.arraycopy(events, 0, remaining, 0, i);
+        System.arraycopy(events, i + 1, remaining, i, events.length - i - 1);
+        EventTimings[] timings = new EventTimings[remaining.length];
+        System.arraycopy(m_timings, 0, timings, 0, i);
+        System.arraycopy(m_timings, i + 1, timings, i, remaining.length - i);
+        m_events = remaining;
+        m_timings = timings;
+        rebucket();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Binds a dispatcher to this loop, so it runs on every call to {@link EventLoop#poll()}, after the
+   * bound events that are due have been dispatched. A dispatcher decides which of its events to
+   * dispatch on each tick, and is useful when one sample tells which of many events changed.
+   *
+   * @param dispatcher the dispatcher to run on every tick
+   */
+  public void bindDispatcher(Runnable dispatcher) {
+    requireNonNullParam(dispatcher, "dispatcher", "bindDispatcher");
+    Runnable[] dispatchers = Arrays.copyOf(m_dispatchers, m_dispatchers.length + 1);
+    dispatchers[m_dispatchers.length] = dispatcher;
+    m_dispatchers = dispatchers;
+  }
+
+  /**
+   * Records an event that a dispatcher of this loop dispatches, instead of binding it. The event is
+   * given this loop, so events composed from it are bound here, and is timed and tracked along with
+   * the bound events. A dispatcher should dispatch it with {@link
+   * BooleanEvent#dispatchFromDispatcher()}.
+   *
+   * @param event the dispatched event
+   */
+  void addDispatched(BooleanEvent event) {
+    BooleanEvent[] events = Arrays.copyOf(m_dispatched, m_dispatched.length + 1);
+    events[m_dispatched.length] = event;
+    m_dispatched = events;
+    event.m_loop = this;
+    if (m_timingWindow > 0) {
+      event.m_dispatchTimings = new EventTimings(event, m_timingWindow);
+    }
+  }
+
+  /** Returns the events dispatched by dispatchers, in the order they were added. */
+  BooleanEvent[] getDispatchedEvents() {
+    return m_dispatched;
+  }
+
+  /**
+   * Returns whether the given event is bound to this loop.
+   *
+   * @param event the event to look for
+   * @return whether the event is bound to this loop
+   */
+  public boolean isBound(BooleanEvent event) {
+    for (BooleanEvent bound : m_events) {
+      if (bound == event) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of events bound to this loop.
+   *
+   * @return the number of bound events
+   */
+  public int size() {
+    return m_events.length;
+  }
+
+  /** Returns the bound events, in binding order. The array must not be modified. */
+  BooleanEvent[] getEvents() {
+    return m_events;
+  }
+
+  /** Removes all events and dispatchers from this loop. */
+  public void clear() {
+    m_events = kEmpty;
+    m_timings = kNoTimings;
+    m_dispatchers = kNoDispatchers;
+    m_dispatched = kEmpty;
+    rebucket();
+  }
+
+  /**
+   * Regroups the bound events and their timings by poll period and phase, keeping binding order
+   * within each bucket.
+   */
+  void rebucket() {
+    int[] periods = m_events.length > 0 ? new int[m_events.length] : new int[0];
+    int periodCount = 0;
+    for (BooleanEvent event : m_events) {
+      int period = event.getPollPeriod();
+      if (Arrays.binarySearch(periods, 0, periodCount, period) < 0) {
+        int insertAt = -Arrays.binarySearch(periods, 0, periodCount, period) - 1;
+        System.arraycopy(periods, insertAt, periods, insertAt + 1, periodCount - insertAt);
+        periods[insertAt] = period;
+        periodCount++;
+      }
+    }
+    // The k-th event with period N has phase k mod N; each non-empty phase is one bucket.
+    int[] counts = new int[periodCount];
+    int[] eventPhases = new int[m_events.length];
+    int bucketCount = 0;
+    for (int i = 0; i < m_events.length; i++) {
+      int p = Arrays.binarySearch(periods, 0, periodCount, m_events[i].getPollPeriod());
+      eventPhases[i] = counts[p] % periods[p];
+      if (counts[p] < periods[p]) {
+        bucketCount++;
+      }
+      counts[p]++;
+    }
+    int[] bucketPeriods = new int[bucketCount];
+    int[] bucketPhases = new int[bucketCount];
+    BooleanEvent[][] buckets = new BooleanEvent[bucketCount][];
+    EventTimings[][] bucketTimings = new EventTimings[bucketCount][];
+    int b = 0;
+    for (int p = 0; p < periodCount; p++) {
+      int period = periods[p];
+      for (int phase = 0; phase < Math.min(period, counts[p]); phase++) {
+        int size = (counts[p] - phase + period - 1) / period;
+        bucketPeriods[b] = period;
+        bucketPhases[b] = phase;
+        buckets[b] = new BooleanEvent[size];
+        bucketTimings[b] = new EventTimings[size];
+        int count = 0;
+        for (int i = 0; i < m_events.length; i++) {
+          BooleanEvent event = m_events[i];
+          if (event.getPollPeriod() == period && eventPhases[i] == phase) {
+            buckets[b][count] = event;
+            bucketTimings[b][count] = m_timings[i];
+            count++;
+            if (event.m_loop == this) {
+              event.m_pollPhase = phase;
+            }
+          }
+        }
+        b++;
+      }
+    }
+    m_periods = bucketPeriods;
+    m_phases = bucketPhases;
+    m_buckets = buckets;
+    m_bucketTimings = bucketTimings;
+  }
+
+  /** Returns the clock this loop timestamps its ticks with. */
+  LongSupplier getClock() {
+    return m_clock;
+  }
+
+  /**
+   * Returns whether events with the given poll period and phase are due on the current tick of this
+   * loop.
+   *
+   * @param period the poll period, in ticks
+   * @param phase the tick within the period on which the events are due
+   */
+  boolean isDue(int period, int phase) {
+    return m_tick % period == phase;
+  }
+
+  /**
+   * Starts recording execution times for every bound event, and for events bound later. While timing
+   * is disabled, the only cost is one check per tick and one per sampled condition.
+   *
+   * @param windowSize the number of most recent ticks to compute statistics over
+   */
+  public void enableTimings(int windowSize) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("windowSize must be positive");
+    }
+    m_timingWindow = windowSize;
+    EventTimings[] timings = new EventTimings[m_events.length];
+    for (int i = 0; i < timings.length; i++) {
+      timings[i] = new EventTimings(m_events[i], windowSize);
+    }
+    m_timings = timings;
+    for (BooleanEvent event : m_dispatched) {
+      event.m_dispatchTimings = new EventTimings(event, windowSize);
+    }
+    rebucket();
+  }
+
+  /** Stops recording execution times and discards the recorded times. */
+  public void disableTimings() {
+    m_timingWindow = 0;
+    m_timings = new EventTimings[m_events.length];
+    for (BooleanEvent event : m_dispatched) {
+      event.m_dispatchTimings = null;
+    }
+    rebucket();
+  }
+
+  /**
+   * Returns the execution times of every bound event, in the order the events were bound, followed
+   * by those of the events dispatched by dispatchers, or an empty list if timing is disabled.
+   *
+   * @return the execution times of the bound and dispatched events
+   */
+  public List<EventTimings> getTimings() {
+    List<EventTimings> timings = new ArrayList<>();
+    for (EventTimings eventTimings : m_timings) {
+      if (eventTimings != null) {
+        timings.add(eventTimings);
+      }
+    }
+    for (BooleanEvent event : m_dispatched) {
+      if (event.m_dispatchTimings != null) {
+        timings.add(event.m_dispatchTimings);
+      }
+    }
+    return timings;
+  }
+
+  /**
+   * Polls every bound event that is due, as a single tick, in increasing order of poll period and
+   * in binding order within each period, and then runs every dispatcher.
+   */
+  public void poll() {
+    EventTick.advance(m_clock);
+    m_tick++;
+    int[] periods = m_periods;
+    int[] phases = m_phases;
+    BooleanEvent[][] buckets = m_buckets;
+    EventTimings[][] bucketTimings = m_bucketTimings;
+    boolean timed = m_timingWindow > 0;
+    for (int b = 0; b < buckets.length; b++) {
+      if (m_tick % periods[b] != phases[b]) {
+        continue;
+      }
+      BooleanEvent[] events = buckets[b];
+      if (timed) {
+        EventTimings[] timings = bucketTimings[b];
+        for (int i = 0; i < events.length; i++) {
+          events[i].dispatchTimed(timings[i]);
+        }
+      } else {
+        for (int i = 0; i < events.length; i++) {
+          events[i].dispatch(null);
+        }
+      }
+    }
+    Runnable[] dispatchers = m_dispatchers;
+    for (int i = 0; i < dispatchers.length; i++) {
+      dispatchers[i].run();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
+import java.util.function.LongSupplier;
+
+/**
+ * The poll that is currently in progress. Every {@link EventLoop#poll()} or direct {@link
+ * BooleanEvent#poll()} starts a new tick; sampled event states and the tick timestamp are cached per
+ * tick.
+ *
+ * <p>Events are polled from the main robot thread, so this state is not synchronized.
+ */
+final class EventTick {
+  /** The clock used when no other clock is given: FPGA time, in microseconds. */
+  static final LongSupplier kDefaultClock = RobotController::getFPGATime;
+
+  /**
+   * The clock used to timestamp transitions: FPGA time on a robot, and {@link System#nanoTime()}
+   * on a desktop, where it has a finer resolution. Both are in microseconds.
+   */
+  private static final LongSupplier kTransitionClock =
+      RobotBase.isReal() ? RobotController::getFPGATime : () -> System.nanoTime() / 1000;
+
+  private static long s_count;
+  private static LongSupplier s_clock = kDefaultClock;
+  private static long s_timestamp;
+  private static long s_timestampTick = -1;
+
+  private EventTick() {}
+
+  /**
+   * Starts a new tick.
+   *
+   * @param clock the clock to read the tick timestamp from, in microseconds
+   */
+  static void advance(LongSupplier clock) {
+    s_count++;
+    s_clock = clock;
+  }
+
+  /**
+   * Returns the number of the current tick.
+   *
+   * @return the current tick
+   */
+  static long count() {
+    return s_count;
+  }
+
+  /**
+   * Returns the timestamp of the current tick. The clock is read the first time this is called in a
+   * tick, so ticks in which nothing needs the time do not read it at all.
+   *
+   * @return the timestamp of the current tick, in microseconds
+   */
+  static long timestamp() {
+    if (s_timestampTick != s_count) {
+      s_timestamp = s_clock.getAsLong();
+      s_timestampTick = s_count;
+    }
+    return s_timestamp;
+  }
+
+  /**
+   * Returns the timestamp of the current tick on the given clock. If the current tick is timestamped
+   * with that clock, this is {@link EventTick#timestamp()}; otherwise, as when an event is sampled
+   * while it is bound, before its loop has polled, the clock is read directly.
+   *
+   * @param clock the clock, in microseconds
+   * @return the timestamp of the current tick on the clock, in microseconds
+   */
+  static long timestamp(LongSupplier clock) {
+    return clock == s_clock ? timestamp() : clock.getAsLong();
+  }
+
+  /**
+   * Reads the transition clock. Unlike {@link EventTick#timestamp()}, this reads the clock on every
+   * call, and may be called from any thread.
+   *
+   * @return the current time, in microseconds
+   */
+  static long now() {
+    return kTransitionClock.getAsLong();
+  }
+}
@@ -0,0 +1,117 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Execution times of one {@link BooleanEvent}, recorded by an {@link EventLoop} while timing is
+ * enabled. See {@link EventLoop#enableTimings(int)}.
+ *
+ * <p>Three kinds of time are recorded, each over a rolling window of the most recent ticks:
+ *
+ * <ul>
+ *   <li>poll time: running all of the event's handlers in a tick, including sampling its condition;
+ *   <li>supplier time: evaluating the event's condition, including any operands that had not yet
+ *       been sampled in that tick; nothing is recorded on a tick where another event sampled it
+ *       first;
+ *   <li>handler time: running each handler, in the order the handlers were bound.
+ * </ul>
+ *
+ * <p>Each loop keeps its own timings, so an event bound to several loops has separate timings in
+ * each.
+ *
+ * <p>The getters compute a {@link TimingStats} snapshot each time they are called, so they are
+ * meant for periodic publishing to a dashboard rather than for use inside the loop.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class EventTimings {
+  private final BooleanEvent m_event;
+  private final int m_windowSize;
+  private final TimingWindow m_pollTime;
+  private final TimingWindow m_supplierTime;
+  private TimingWindow[] m_handlerTimes = new TimingWindow[0];
+  private int m_bindingGeneration;
+
+  EventTimings(BooleanEvent event, int windowSize) {
+    m_event = event;
+    m_bindingGeneration = event.m_bindingGeneration;
+    m_windowSize = windowSize;
+    m_pollTime = new TimingWindow(windowSize);
+    m_supplierTime = new TimingWindow(windowSize);
+  }
+
+  /**
+   * Returns the name of the event these timings belong to.
+   *
+   * @return the event name
+   */
+  public String getName() {
+    return m_event.getName();
+  }
+
+  /**
+   * Returns statistics of the time spent polling the event.
+   *
+   * @return the poll time statistics
+   */
+  public TimingStats getPollTime() {
+    return m_pollTime.getStats();
+  }
+
+  /**
+   * Returns statistics of the time spent evaluating the event's condition.
+   *
+   * @return the supplier time statistics
+   */
+  public TimingStats getSupplierTime() {
+    return m_supplierTime.getStats();
+  }
+
+  /**
+   * Returns statistics of the time spent in each handler, in the order the handlers were bound.
+   * Times of handlers removed by {@link BooleanEvent#clearBindings()} are discarded.
+   *
+   * @return the handler time statistics
+   */
+  public List<TimingStats> getHandlerTimes() {
+    discardClearedHandlers();
+    List<TimingStats> stats = new ArrayList<>(m_handlerTimes.length);
+    for (TimingWindow window : m_handlerTimes) {
+      stats.add(window.getStats());
+    }
+    return stats;
+  }
+
+  void recordPoll(long nanos) {
+    m_pollTime.record(nanos);
+  }
+
+  void recordSupplier(long nanos) {
+    m_supplierTime.record(nanos);
+  }
+
+  void recordHandler(int index, long nanos) {
+    discardClearedHandlers();
+    if (index >= m_handlerTimes.length) {
+      int oldLength = m_handlerTimes.length;
+      m_handlerTimes = Arrays.copyOf(m_handlerTimes, index + 1);
+      for (int i = oldLength; i <= index; i++) {
+        m_handlerTimes[i] = new TimingWindow(m_windowSize);
+      }
+    }
+    m_handlerTimes[index].record(nanos);
+  }
+
+  private void discardClearedHandlers() {
+    if (m_bindingGeneration != m_event.m_bindingGeneration) {
+      m_bindingGeneration = m_event.m_bindingGeneration;
+      m_handlerTimes = new TimingWindow[0];
+    }
+  }
+}
@@ -0,0 +1,229 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs handlers off the main robot thread, so that a slow handler (logging to disk, publishing to
+ * NetworkTables, requesting a vision result) does not stall the loop that polls its event.
+ *
+ * <p>Handlers still run inline by default. To run one asynchronously, wrap it with {@link
+ * HandlerExecutor#async(Runnable, int, OverflowPolicy)} and bind the wrapper instead:
+ *
+ * <pre>{@code
+ * event.onTrue(executor.async(this::saveSnapshot, 1, OverflowPolicy.kCoalesce));
+ * }</pre>
+ *
+ * <p>Each wrapper has its own bounded queue. Runs of the same wrapper never overlap, and run in the
+ * order they were queued; different wrappers run concurrently on the executor's threads. Async
+ * handlers must not interact with the {@link edu.wpi.first.wpilibj2.command.CommandScheduler}.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class HandlerExecutor implements AutoCloseable {
+  /** What an async handler does when it is triggered while its queue is full. */
+  public enum OverflowPolicy {
+    /** Drop the new run. */
+    kDrop,
+    /**
+     * Merge the new run into a single re-run, which starts once a run that was queued or running
+     * when it was triggered has finished.
+     */
+    kCoalesce,
+    /** Block the triggering thread until there is room in the queue. */
+    kBlock
+  }
+
+  private final Executor m_executor;
+  private final ExecutorService m_ownedExecutor;
+
+  /**
+   * Creates a new HandlerExecutor backed by a fixed pool of daemon platform threads.
+   *
+   * @param threads the number of threads
+   */
+  public HandlerExecutor(int threads) {
+    m_ownedExecutor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "HandlerExecutor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    m_executor = m_ownedExecutor;
+  }
+
+  /**
+   * Creates a new HandlerExecutor backed by the given executor, for example a virtual-thread
+   * executor on a JVM that has them. The given executor is not shut down by {@link #close()}.
+   *
+   * @param executor the executor to run handlers on
+   */
+  public HandlerExecutor(Executor executor) {
+    m_executor = requireNonNullParam(executor, "executor", "HandlerExecutor");
+    m_ownedExecutor = null;
+  }
+
+  /**
+   * Wraps a handler so that running the wrapper queues the handler on this executor.
+   *
+   * @param handler the handler to run asynchronously
+   * @param queueDepth the number of runs that may be queued or running at once
+   * @param policy what to do when the handler is triggered while the queue is full
+   * @return the wrapper to bind in place of the handler
+   */
+  public AsyncHandler async(Runnable handler, int queueDepth, OverflowPolicy policy) {
+    requireNonNullParam(handler, "handler", "async");
+    requireNonNullParam(policy, "policy", "async");
+    if (queueDepth <= 0) {
+      throw new IllegalArgumentException("queueDepth must be positive");
+    }
+    return new AsyncHandler(handler, queueDepth, policy);
+  }
+
+  /** Stops the threads created by this executor. Queued runs are discarded. */
+  @Override
+  public void close() {
+    if (m_ownedExecutor != null) {
+      m_ownedExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * A handler that runs on a {@link HandlerExecutor}. Running it queues one run of the wrapped
+   * handler, subject to its queue depth and overflow policy, and returns immediately.
+   */
+  public final class AsyncHandler implements Runnable {
+    private final Runnable m_handler;
+    private final OverflowPolicy m_policy;
+    private final Semaphore m_slots;
+    private final AtomicInteger m_pending = new AtomicInteger();
+    private final AtomicBoolean m_rerun = new AtomicBoolean();
+    private final AtomicInteger m_maxPending = new AtomicInteger();
+    private final AtomicLong m_dropped = new AtomicLong();
+    private final AtomicLong m_coalesced = new AtomicLong();
+    private final Runnable m_drain = this::drain;
+
+    private AsyncHandler(Runnable handler, int queueDepth, OverflowPolicy policy) {
+      m_handler = handler;
+      m_policy = policy;
+      m_slots = new Semaphore(queueDepth);
+    }
+
+    @Override
+    public void run() {
+      if (m_policy == OverflowPolicy.kBlock) {
+        m_slots.acquireUninterruptibly();
+      } else if (!m_slots.tryAcquire()) {
+        if (m_policy == OverflowPolicy.kDrop) {
+          m_dropped.incrementAndGet();
+        } else if (m_rerun.getAndSet(true)) {
+          m_coalesced.incrementAndGet();
+        } else {
+          // Runs that hold a slot check for a re-run when they finish. If they all finished before
+          // the re-run was requested, nothing will see it, so queue it here.
+          queueRerun();
+        }
+        return;
+      }
+      queue();
+    }
+
+    /** Queues one run. The caller must hold a slot for it. */
+    private void queue() {
+      int pending = m_pending.incrementAndGet();
+      m_maxPending.accumulateAndGet(pending, Math::max);
+      if (pending == 1) {
+        m_executor.execute(m_drain);
+      }
+    }
+
+    /** Queues the requested re-run as a run of its own, if a slot is free and no run has taken it. */
+    private void queueRerun() {
+      if (m_slots.tryAcquire()) {
+        if (m_rerun.getAndSet(false)) {
+          queue();
+        } else {
+          m_slots.release();
+        }
+      }
+    }
+
+    private void drain() {
+      do {
+        runHandler();
+        // A re-run requested while the handler was running takes over its slot.
+        while (m_rerun.getAndSet(false)) {
+          runHandler();
+        }
+        m_slots.release();
+      } while (m_pending.decrementAndGet() > 0);
+      if (m_rerun.get()) {
+        queueRerun();
+      }
+    }
+
+    /**
+     * Runs the handler, reporting anything it throws. Errors are caught as well, since letting one
+     * escape would leave the queue depth above zero and the handler would never run again.
+     */
+    private void runHandler() {
+      try {
+        m_handler.run();
+      } catch (Throwable t) {
+        DriverStation.reportError("Unhandled exception in async handler: " + t, t.getStackTrace());
+      }
+    }
+
+    /**
+     * Returns the number of runs that are queued or running.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+      return m_pending.get();
+    }
+
+    /**
+     * Returns the largest queue depth seen so far.
+     *
+     * @return the maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+      return m_maxPending.get();
+    }
+
+    /**
+     * Returns the number of runs dropped by {@link OverflowPolicy#kDrop}.
+     *
+     * @return the number of dropped runs
+     */
+    public long getDroppedCount() {
+      return m_dropped.get();
+    }
+
+    /**
+     * Returns the number of runs merged into an already requested re-run by {@link
+     * OverflowPolicy#kCoalesce}. The first run that overflows becomes the re-run, so it is not
+     * counted.
+     *
+     * @return the number of coalesced runs
+     */
+    public long getCoalescedCount() {
+      return m_coalesced.get();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.util.Arrays;
+
+/**
+ * An insertion-ordered list of handlers backed by a flat array. Handlers added through {@link
+ * HandlerList#add(Runnable)} are kept only once, like a set.
+ *
+ * <p>Bindings are added rarely and dispatched every loop, so the array is copied on write and
+ * {@link HandlerList#run()} iterates it with an indexed loop, without allocating an iterator.
+ * Because dispatch works on the array that was current when it started, handlers added or cleared
+ * while handlers are running take effect on the next dispatch.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class HandlerList {
+  private static final Runnable[] kEmpty = new Runnable[0];
+
+  private Runnable[] m_handlers = kEmpty;
+  private int[] m_ids = new int[0];
+
+  /**
+   * Adds a handler to the end of this list, unless it is already present.
+   *
+   * @param handler the handler to add
+   * @return whether the handler was added
+   */
+  public boolean add(Runnable handler) {
+    return add(handler, m_handlers.length);
+  }
+
+  /**
+   * Adds a handler to the end of this list, unless it is already present.
+   *
+   * @param handler the handler to add
+   * @param id the binding the handler belongs to, under which its execution time is recorded
+   * @return whether the handler was added
+   */
+  boolean add(Runnable handler, int id) {
+    requireNonNullParam(handler, "handler", "add");
+    if (contains(handler)) {
+      return false;
+    }
+    append(handler, id);
+    return true;
+  }
+
+  /**
+   * Adds a handler to the end of this list, even if it is already present, so that a handler bound
+   * twice runs twice.
+   *
+   * @param handler the handler to add
+   * @param id the binding the handler belongs to, under which its execution time is recorded
+   */
+  void append(Runnable handler, int id) {
+    requireNonNullParam(handler, "handler", "append");
+    Runnable[] handlers = Arrays.copyOf(m_handlers, m_handlers.length + 1);
+    handlers[m_handlers.length] = handler;
+    int[] ids = Arrays.copyOf(m_ids, m_ids.length + 1);
+    ids[m_ids.length] = id;
+    m_handlers = handlers;
+    m_ids = ids;
+  }
+
+  private boolean contains(Runnable handler) {
+    for (Runnable existing : m_handlers) {
+      if (existing.equals(handler)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of handlers in this list.
+   *
+   * @return the number of handlers
+   */
+  public int size() {
+    return m_handlers.length;
+  }
+
+  /** Removes all handlers from this list. */
+  public void clear() {
+    m_handlers = kEmpty;
+    m_ids = new int[0];
+  }
+
+  /** Runs every handler in insertion order. */
+  public void run() {
+    Runnable[] handlers = m_handlers;
+    for (int i = 0; i < handlers.length; i++) {
+      handlers[i].run();
+    }
+  }
+
+  /**
+   * Runs every handler in insertion order, recording the execution time of each under its binding.
+   *
+   * @param timings where to record the execution times, or null to not record them
+   */
+  void run(EventTimings timings) {
+    if (timings == null) {
+      run();
+      return;
+    }
+    Runnable[] handlers = m_handlers;
+    int[] ids = m_ids;
+    for (int i = 0; i < handlers.length; i++) {
+      long start = System.nanoTime();
+      handlers[i].run();
+      timings.recordHandler(ids[i], System.nanoTime() - start);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import edu.wpi.first.wpilibj.Notifier;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Samples conditions on a {@link Notifier} thread, faster than the main loop, and latches their
+ * edges so that short pulses are not missed.
+ *
+ * <p>Each condition added to the sampler is exposed as a {@link PushBooleanEvent}. The sampler
+ * thread evaluates every condition once per period and pushes the result; the main loop then
+ * delivers every latched edge exactly once when it polls the event. At a 1 ms period, a beam break
+ * that is interrupted for 5 ms is seen even though the main loop only runs every 20 ms.
+ *
+ * <p>Conditions are evaluated on the sampler thread, so they must be safe to call from it. Reading
+ * a {@link edu.wpi.first.wpilibj.DigitalInput} is; reading state owned by a subsystem usually is
+ * not.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class LatchedSampler implements AutoCloseable {
+  private static final BooleanSupplier[] kNoConditions = new BooleanSupplier[0];
+  private static final PushBooleanEvent[] kNoEvents = new PushBooleanEvent[0];
+
+  private final Notifier m_notifier = new Notifier(this::sample);
+  private final double m_periodSeconds;
+  private volatile BooleanSupplier[] m_conditions = kNoConditions;
+  private volatile PushBooleanEvent[] m_events = kNoEvents;
+
+  /**
+   * Creates a new LatchedSampler. Sampling starts when {@link LatchedSampler#start()} is called.
+   *
+   * @param periodSeconds the sampling period, in seconds (for example 0.001 for 1 kHz)
+   */
+  public LatchedSampler(double periodSeconds) {
+    if (periodSeconds <= 0) {
+      throw new IllegalArgumentException("periodSeconds must be positive");
+    }
+    m_periodSeconds = periodSeconds;
+    m_notifier.setName("LatchedSampler");
+  }
+
+  /**
+   * Adds a condition to sample, returning the event that delivers its latched edges.
+   *
+   * @param loop the loop that polls the returned event
+   * @param condition the condition to sample on the sampler thread
+   * @return the event that follows the condition
+   */
+  public synchronized PushBooleanEvent add(EventLoop loop, BooleanSupplier condition) {
+    requireNonNullParam(condition, "condition", "add");
+    PushBooleanEvent event = new PushBooleanEvent(loop, condition.getAsBoolean());
+    // Publish the event before the condition, so the sampler never sees a condition without one.
+    PushBooleanEvent[] events = Arrays.copyOf(m_events, m_events.length + 1);
+    events[m_events.length] = event;
+    m_events = events;
+    BooleanSupplier[] conditions = Arrays.copyOf(m_conditions, m_conditions.length + 1);
+    conditions[m_conditions.length] = condition;
+    m_conditions = conditions;
+    return event;
+  }
+
+  /** Starts sampling at the configured period. */
+  public void start() {
+    m_notifier.startPeriodic(m_periodSeconds);
+  }
+
+  /** Stops sampling. Edges that were already latched are still delivered. */
+  public void stop() {
+    m_notifier.stop();
+  }
+
+  @Override
+  public void close() {
+    m_notifier.close();
+  }
+
+  private void sample() {
+    BooleanSupplier[] conditions = m_conditions;
+    PushBooleanEvent[] events = m_events;
+    for (int i = 0; i < conditions.length; i++) {
+      events[i].set(conditions[i].getAsBoolean());
+    }
+  }
+}
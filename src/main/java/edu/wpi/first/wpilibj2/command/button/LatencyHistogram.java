@@ -0,0 +1,131 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies, in microseconds, with fixed power-of-two buckets. Bucket 0 counts
+ * latencies below 1 us, and bucket {@code i} counts latencies from 2<sup>i-1</sup> us up to, but
+ * not including, 2<sup>i</sup> us; the last bucket also counts everything longer. Recording does
+ * not allocate.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class LatencyHistogram {
+  /** The number of buckets. The last one starts at about 17 minutes. */
+  public static final int kBucketCount = 32;
+
+  private final long[] m_buckets = new long[kBucketCount];
+  private long m_count;
+  private long m_sum;
+  private long m_max;
+
+  /**
+   * Records a latency.
+   *
+   * @param micros the latency, in microseconds
+   */
+  public void record(long micros) {
+    if (micros < 0) {
+      micros = 0;
+    }
+    m_buckets[bucketOf(micros)]++;
+    m_count++;
+    m_sum += micros;
+    m_max = Math.max(m_max, micros);
+  }
+
+  private static int bucketOf(long micros) {
+    return Math.min(64 - Long.numberOfLeadingZeros(micros), kBucketCount - 1);
+  }
+
+  /**
+   * Returns the number of latencies recorded in a bucket.
+   *
+   * @param bucket the bucket, from 0 to {@link #kBucketCount} - 1
+   * @return the number of latencies in the bucket
+   */
+  public long getBucketCount(int bucket) {
+    return m_buckets[bucket];
+  }
+
+  /**
+   * Returns the exclusive upper bound of a bucket.
+   *
+   * @param bucket the bucket, from 0 to {@link #kBucketCount} - 1
+   * @return the upper bound, in microseconds, or {@link Long#MAX_VALUE} for the last bucket
+   */
+  public static long getBucketUpperBound(int bucket) {
+    return bucket == kBucketCount - 1 ? Long.MAX_VALUE : 1L << bucket;
+  }
+
+  /**
+   * Returns the number of latencies recorded.
+   *
+   * @return the number of latencies
+   */
+  public long getCount() {
+    return m_count;
+  }
+
+  /**
+   * Returns the mean latency, or 0 if nothing was recorded.
+   *
+   * @return the mean, in microseconds
+   */
+  public double getMean() {
+    return m_count == 0 ? 0 : (double) m_sum / m_count;
+  }
+
+  /**
+   * Returns the longest latency, or 0 if nothing was recorded.
+   *
+   * @return the maximum, in microseconds
+   */
+  public long getMax() {
+    return m_max;
+  }
+
+  /**
+   * Returns an upper bound on the given percentile: the upper bound of the bucket it falls in, or
+   * the maximum if that is smaller. Returns 0 if nothing was recorded.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the upper bound on the percentile, in microseconds
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    if (m_count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * m_count));
+    long seen = 0;
+    for (int bucket = 0; bucket < kBucketCount; bucket++) {
+      seen += m_buckets[bucket];
+      if (seen >= rank) {
+        return Math.min(getBucketUpperBound(bucket), m_max);
+      }
+    }
+    return m_max;
+  }
+
+  /** Discards every recorded latency. */
+  public void reset() {
+    Arrays.fill(m_buckets, 0);
+    m_count = 0;
+    m_sum = 0;
+    m_max = 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "n=%d mean=%.0fus p50<=%dus p99<=%dus max=%dus",
+        m_count, getMean(), getPercentile(50), getPercentile(99), m_max);
+  }
+}
@@ -0,0 +1,202 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import edu.wpi.first.wpilibj.AsynchronousInterrupt;
+import edu.wpi.first.wpilibj.DigitalInput;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A BooleanEvent whose state is pushed to it from an asynchronous source, such as a DIO interrupt
+ * or a callback, instead of being read when it is polled.
+ *
+ * <p>{@link PushBooleanEvent#set(boolean)} may be called from any thread. Every change of state is
+ * latched in a lock-free counter, and the next poll delivers every edge that happened since the
+ * previous poll, in order, to the edge handlers. A press that starts and ends between two polls
+ * therefore still runs the rising and the falling handlers once each. Level handlers and composed
+ * events see the state at the time of the poll. Edges pushed before the first binding are not
+ * delivered, and a PushBooleanEvent that is already true when first bound does not fire a rising
+ * edge.
+ *
+ * <p>Edges are timestamped when they are pushed rather than when they are polled, so {@link
+ * BooleanEvent#getLastTransitionTime()} includes the time spent waiting for the poll. If several
+ * edges in the same direction are latched between two polls, each is given the time of the latest.
+ * Pushes read the clock of the loop, so a custom loop clock must be safe to read from the pushing
+ * thread.
+ *
+ * <p>Handlers bound with {@link PushBooleanEvent#onChangeImmediate(BooleanConsumer)} are instead run
+ * on the thread that pushed the change, as soon as it is pushed. They must be thread-safe and must
+ * not interact with the {@link edu.wpi.first.wpilibj2.command.CommandScheduler}.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public class PushBooleanEvent extends BooleanEvent implements AutoCloseable {
+  private static final BooleanConsumer[] kNoHandlers = new BooleanConsumer[0];
+
+  private final boolean m_initialState;
+  private final AtomicLong m_transitions = new AtomicLong();
+  private volatile BooleanConsumer[] m_immediateHandlers = kNoHandlers;
+  private volatile long m_risingPushTime = -1;
+  private volatile long m_fallingPushTime = -1;
+  private long m_sampledTransitions;
+  private long m_deliveredTransitions;
+  private AsynchronousInterrupt m_interrupt;
+
+  /**
+   * Creates a new PushBooleanEvent that must be polled directly.
+   *
+   * @param initialState the state before anything is pushed.
+   */
+  public PushBooleanEvent(boolean initialState) {
+    super(() -> false);
+    m_initialState = initialState;
+  }
+
+  /**
+   * Creates a new PushBooleanEvent that is polled by the given loop.
+   *
+   * @param loop the loop that polls this BooleanEvent.
+   * @param initialState the state before anything is pushed.
+   */
+  public PushBooleanEvent(EventLoop loop, boolean initialState) {
+    super(loop, () -> false);
+    m_initialState = initialState;
+  }
+
+  /**
+   * Creates a new PushBooleanEvent that follows a digital input through an {@link
+   * AsynchronousInterrupt} on both edges. If both edges are reported by one interrupt, both are
+   * latched.
+   *
+   * @param loop the loop that polls this BooleanEvent.
+   * @param input the digital input to follow.
+   * @return the PushBooleanEvent
+   */
+  public static PushBooleanEvent fromInterrupt(EventLoop loop, DigitalInput input) {
+    requireNonNullParam(input, "input", "fromInterrupt");
+    PushBooleanEvent event = new PushBooleanEvent(loop, input.get());
+    event.m_interrupt =
+        new AsynchronousInterrupt(input, (rising, falling) -> event.onInterrupt(rising, falling));
+    event.m_interrupt.setInterruptEdges(true, true);
+    event.m_interrupt.enable();
+    return event;
+  }
+
+  private void onInterrupt(boolean rising, boolean falling) {
+    if (rising && falling) {
+      boolean state = get();
+      set(!state);
+      set(state);
+    } else if (rising) {
+      set(true);
+    } else if (falling) {
+      set(false);
+    }
+  }
+
+  /**
+   * Pushes a new state. Does nothing if the state has not changed. May be called from any thread.
+   *
+   * @param state the new state
+   */
+  public void set(boolean state) {
+    long now = now();
+    while (true) {
+      long transitions = m_transitions.get();
+      if (stateAfter(transitions) == state) {
+        return;
+      }
+      // Publish the time before the transition, so a poll that sees the edge also sees its time.
+      if (state) {
+        m_risingPushTime = now;
+      } else {
+        m_fallingPushTime = now;
+      }
+      if (m_transitions.compareAndSet(transitions, transitions + 1)) {
+        break;
+      }
+    }
+    for (BooleanConsumer handler : m_immediateHandlers) {
+      handler.accept(state);
+    }
+  }
+
+  /**
+   * Runs the given BooleanConsumer on the pushing thread whenever the state changes, without waiting
+   * for the next poll.
+   *
+   * @param handler the BooleanConsumer to run, which accepts the new state
+   * @return this PushBooleanEvent, so calls can be chained
+   */
+  public synchronized PushBooleanEvent onChangeImmediate(BooleanConsumer handler) {
+    requireNonNullParam(handler, "handler", "onChangeImmediate");
+    BooleanConsumer[] handlers =
+        Arrays.copyOf(m_immediateHandlers, m_immediateHandlers.length + 1);
+    handlers[m_immediateHandlers.length] = handler;
+    m_immediateHandlers = handlers;
+    return this;
+  }
+
+  /**
+   * Returns the most recently pushed state.
+   *
+   * @return the most recently pushed state
+   */
+  @Override
+  public boolean get() {
+    return stateAfter(m_transitions.get());
+  }
+
+  @Override
+  public synchronized void clearBindings() {
+    super.clearBindings();
+    m_immediateHandlers = kNoHandlers;
+  }
+
+  /** Stops following the digital input, if this event was created with fromInterrupt. */
+  @Override
+  public void close() {
+    if (m_interrupt != null) {
+      m_interrupt.close();
+      m_interrupt = null;
+    }
+  }
+
+  @Override
+  boolean sample() {
+    m_sampledTransitions = m_transitions.get();
+    return stateAfter(m_sampledTransitions);
+  }
+
+  /**
+   * Takes the state sampled on the current poll as the previous state, and counts every edge pushed
+   * up to that sample as delivered, so edges pushed before anything was bound are not delivered.
+   */
+  @Override
+  boolean initialState() {
+    boolean state = getPolled();
+    m_deliveredTransitions = m_sampledTransitions;
+    return state;
+  }
+
+  @Override
+  long transitionTime(boolean rising) {
+    return rising ? m_risingPushTime : m_fallingPushTime;
+  }
+
+  @Override
+  int transitions(boolean previous, boolean current) {
+    long pending = m_sampledTransitions - m_deliveredTransitions;
+    m_deliveredTransitions = m_sampledTransitions;
+    return (int) pending;
+  }
+
+  private boolean stateAfter(long transitions) {
+    return m_initialState ^ ((transitions & 1) != 0);
+  }
+}
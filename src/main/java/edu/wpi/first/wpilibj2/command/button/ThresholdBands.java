@@ -0,0 +1,212 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A set of sorted thresholds on one {@link DoubleEvent}, such as the setpoints of an elevator.
+ *
+ * <p>The thresholds divide the range of the input into bands: band 0 is below the lowest threshold,
+ * and band {@code i} is at or above threshold {@code i - 1} and below threshold {@code i}. Each tick,
+ * the input is sampled once and the current band is found with a binary search. The events made by
+ * {@link ThresholdBands#inBand(int)} and {@link ThresholdBands#atOrAbove(int)} are dispatched only
+ * when the band changes and their value changes with it, or when they have handlers that run every
+ * tick, so ten setpoints cost one sensor read and a few comparisons instead of ten reads. On a tick
+ * where the band has not changed, only the events with such handlers are visited.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class ThresholdBands {
+  private final DoubleEvent m_source;
+  private final double[] m_thresholds;
+  private final BooleanEvent[] m_inBand;
+  private final BooleanEvent[] m_atOrAbove;
+  private BooleanEvent[] m_levelEvents = new BooleanEvent[0];
+  private boolean m_levelEventsChanged;
+
+  private long m_sampledPoll = -1;
+  private int m_band;
+  private int m_dispatchedBand = -1;
+
+  ThresholdBands(DoubleEvent source, double... thresholds) {
+    m_source = source;
+    m_thresholds = thresholds.clone();
+    Arrays.sort(m_thresholds);
+    m_inBand = new BooleanEvent[m_thresholds.length + 1];
+    m_atOrAbove = new BooleanEvent[m_thresholds.length];
+    source.getLoop().bindDispatcher(this::dispatch);
+  }
+
+  /**
+   * Returns the thresholds, in ascending order.
+   *
+   * @return a copy of the thresholds
+   */
+  public double[] getThresholds() {
+    return m_thresholds.clone();
+  }
+
+  /**
+   * Returns the band the input is in, as sampled during the current poll.
+   *
+   * @return the band index, from 0 to the number of thresholds
+   */
+  public int getBand() {
+    long tick = EventTick.count();
+    if (m_sampledPoll != tick) {
+      double value = m_source.getPolled();
+      int index = Arrays.binarySearch(m_thresholds, value);
+      // An exact match is at or above its threshold; otherwise count the thresholds below.
+      m_band = index >= 0 ? upperBound(index, value) : -index - 1;
+      m_sampledPoll = tick;
+    }
+    return m_band;
+  }
+
+  private int upperBound(int index, double value) {
+    while (index < m_thresholds.length && m_thresholds[index] == value) {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Returns a BooleanEvent that is true while the input is in the given band.
+   *
+   * @param band the band index, from 0 to the number of thresholds
+   * @return the band event
+   */
+  public BooleanEvent inBand(int band) {
+    if (m_inBand[band] == null) {
+      m_inBand[band] = newEvent(() -> getBand() == band);
+    }
+    return m_inBand[band];
+  }
+
+  /**
+   * Returns a BooleanEvent that is true while the input is at or above the given threshold.
+   *
+   * @param threshold the threshold index, in ascending order of the thresholds
+   * @return the threshold event
+   */
+  public BooleanEvent atOrAbove(int threshold) {
+    if (m_atOrAbove[threshold] == null) {
+      m_atOrAbove[threshold] = newEvent(() -> getBand() > threshold);
+    }
+    return m_atOrAbove[threshold];
+  }
+
+  private BooleanEvent newEvent(BooleanSupplier condition) {
+    BooleanEvent event = new BandEvent(condition);
+    m_source.getLoop().addDispatched(event);
+    return event;
+  }
+
+  /** Dispatches the band events whose value changed, and those with level handlers. */
+  private void dispatch() {
+    int band = getBand();
+    int previous = m_dispatchedBand;
+    m_dispatchedBand = band;
+    if (previous < 0) {
+      dispatchAll();
+      return;
+    }
+    if (band == previous) {
+      for (BooleanEvent event : getLevelEvents()) {
+        event.dispatchFromDispatcher();
+      }
+      return;
+    }
+    // Dispatch each event at most once per tick: if its value changed, or else if it has level
+    // handlers.
+    int low = Math.min(band, previous);
+    int high = Math.max(band, previous);
+    for (int i = 0; i < m_inBand.length; i++) {
+      if (i == band || i == previous) {
+        dispatchEvent(m_inBand[i]);
+      } else {
+        dispatchLevel(m_inBand[i]);
+      }
+    }
+    for (int i = 0; i < m_atOrAbove.length; i++) {
+      if (i >= low && i < high) {
+        dispatchEvent(m_atOrAbove[i]);
+      } else {
+        dispatchLevel(m_atOrAbove[i]);
+      }
+    }
+  }
+
+  private void dispatchAll() {
+    for (BooleanEvent event : m_inBand) {
+      dispatchEvent(event);
+    }
+    for (BooleanEvent event : m_atOrAbove) {
+      dispatchEvent(event);
+    }
+  }
+
+  private static void dispatchEvent(BooleanEvent event) {
+    if (event != null) {
+      event.dispatchFromDispatcher();
+    }
+  }
+
+  private static void dispatchLevel(BooleanEvent event) {
+    if (event != null && event.hasLevelHandlers()) {
+      event.dispatchFromDispatcher();
+    }
+  }
+
+  /** Returns the band events with level handlers, rebuilt after their bindings change. */
+  private BooleanEvent[] getLevelEvents() {
+    if (m_levelEventsChanged) {
+      m_levelEventsChanged = false;
+      BooleanEvent[] events = new BooleanEvent[m_inBand.length + m_atOrAbove.length];
+      int count = 0;
+      for (BooleanEvent event : m_inBand) {
+        if (event != null && event.hasLevelHandlers()) {
+          events[count++] = event;
+        }
+      }
+      for (BooleanEvent event : m_atOrAbove) {
+        if (event != null && event.hasLevelHandlers()) {
+          events[count++] = event;
+        }
+      }
+      m_levelEvents = Arrays.copyOf(events, count);
+    }
+    return m_levelEvents;
+  }
+
+  /** A band event, which tells its ThresholdBands when its level handlers may have changed. */
+  private final class BandEvent extends BooleanEvent {
+    BandEvent(BooleanSupplier condition) {
+      super(condition);
+    }
+
+    @Override
+    protected void addHandler(Runnable handler) {
+      super.addHandler(handler);
+      m_levelEventsChanged = true;
+    }
+
+    @Override
+    protected void addHandlers(Runnable onRising, Runnable onFalling, Runnable whileTrue) {
+      super.addHandlers(onRising, onFalling, whileTrue);
+      if (whileTrue != null) {
+        m_levelEventsChanged = true;
+      }
+    }
+
+    @Override
+    public void clearBindings() {
+      super.clearBindings();
+      m_levelEventsChanged = true;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import edu.wpi.first.math.filter.Debouncer;
+import java.util.function.LongSupplier;
+
+/**
+ * A debouncer with the same behavior as {@link Debouncer}, driven by the tick timestamp instead of
+ * reading the clock on every call. A tick reads the clock at most once no matter how many debounced
+ * events it evaluates, and a debounced event behaves the same whenever its loop is given the same
+ * clock, as in simulation or replay.
+ */
+final class TickDebouncer {
+  private final LongSupplier m_clock;
+  private final long m_debounceTime;
+  private final Debouncer.DebounceType m_type;
+  private boolean m_baseline;
+  private boolean m_started;
+  private long m_prevTime;
+
+  /**
+   * Creates a new TickDebouncer.
+   *
+   * @param seconds the number of seconds the value must change from baseline for the filtered value
+   *     to change.
+   * @param type which type of state change the debouncing will be performed on.
+   * @param clock the clock of the loop that polls the debounced event, in microseconds.
+   */
+  TickDebouncer(double seconds, Debouncer.DebounceType type, LongSupplier clock) {
+    m_clock = clock;
+    m_debounceTime = Math.round(seconds * 1e6);
+    m_type = type;
+    m_baseline = type == Debouncer.DebounceType.kFalling;
+  }
+
+  /**
+   * Applies the debouncer to the input stream at the timestamp of the current tick.
+   *
+   * @param input the current value of the input stream.
+   * @return the debounced value of the input stream.
+   */
+  boolean calculate(boolean input) {
+    long now = EventTick.timestamp(m_clock);
+    if (!m_started || input == m_baseline) {
+      m_prevTime = now;
+      m_started = true;
+    }
+
+    if (now - m_prevTime >= m_debounceTime) {
+      if (m_type == Debouncer.DebounceType.kBoth) {
+        m_baseline = input;
+        m_prevTime = now;
+      }
+      return input;
+    }
+    return m_baseline;
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Detects one input becoming true within a time window after another became true, driven by the
+ * tick timestamp. The output becomes true on the rising edge of the second input that completes the
+ * sequence, and stays true while the second input stays true. A double tap is the sequence of an
+ * input with itself.
+ *
+ * <p>The clock is only read on a tick where one of the inputs rises, so a tick without edges costs a
+ * few comparisons.
+ */
+final class TickSequence {
+  private final LongSupplier m_clock;
+  private final long m_window;
+  private boolean m_started;
+  private boolean m_firstLast;
+  private boolean m_secondLast;
+  private boolean m_armed;
+  private long m_armedTime;
+  private boolean m_active;
+
+  /**
+   * Creates a new TickSequence.
+   *
+   * @param seconds the time within which the second input must become true after the first.
+   * @param clock the clock of the loop that polls the sequence event, in microseconds.
+   */
+  TickSequence(double seconds, LongSupplier clock) {
+    m_clock = clock;
+    m_window = Math.round(seconds * 1e6);
+  }
+
+  /**
+   * Applies the detector to the inputs at the timestamp of the current tick.
+   *
+   * @param first the current value of the input that starts the sequence.
+   * @param second the current value of the input that completes the sequence.
+   * @return whether the sequence has been completed and the second input is still true.
+   */
+  boolean calculate(boolean first, boolean second) {
+    if (!m_started) {
+      // Inputs that are already true when the detector starts have not risen.
+      m_firstLast = first;
+      m_secondLast = second;
+      m_started = true;
+      return false;
+    }
+    boolean firstRose = first && !m_firstLast;
+    boolean secondRose = second && !m_secondLast;
+    m_firstLast = first;
+    m_secondLast = second;
+    if (!second) {
+      m_active = false;
+    }
+    if (firstRose || secondRose) {
+      long now = EventTick.timestamp(m_clock);
+      if (m_armed && now - m_armedTime > m_window) {
+        m_armed = false;
+      }
+      // Check for completion before arming, so a double tap needs two separate rising edges.
+      if (secondRose && m_armed) {
+        m_active = true;
+        m_armed = false;
+      } else if (firstRose) {
+        m_armed = true;
+        m_armedTime = now;
+      }
+    }
+    return m_active;
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+/**
+ * Summary statistics of the execution times recorded over a rolling window, in nanoseconds.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class TimingStats {
+  private final int m_count;
+  private final long m_min;
+  private final long m_max;
+  private final double m_mean;
+  private final long m_p99;
+
+  TimingStats(int count, long min, long max, double mean, long p99) {
+    m_count = count;
+    m_min = min;
+    m_max = max;
+    m_mean = mean;
+    m_p99 = p99;
+  }
+
+  /**
+   * Returns the number of samples in the window.
+   *
+   * @return the number of samples
+   */
+  public int getCount() {
+    return m_count;
+  }
+
+  /**
+   * Returns the shortest recorded time, or 0 if nothing was recorded.
+   *
+   * @return the minimum, in nanoseconds
+   */
+  public long getMin() {
+    return m_min;
+  }
+
+  /**
+   * Returns the longest recorded time, or 0 if nothing was recorded.
+   *
+   * @return the maximum, in nanoseconds
+   */
+  public long getMax() {
+    return m_max;
+  }
+
+  /**
+   * Returns the mean recorded time, or 0 if nothing was recorded.
+   *
+   * @return the mean, in nanoseconds
+   */
+  public double getMean() {
+    return m_mean;
+  }
+
+  /**
+   * Returns the 99th percentile of the recorded times, or 0 if nothing was recorded.
+   *
+   * @return the 99th percentile, in nanoseconds
+   */
+  public long getP99() {
+    return m_p99;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "n=%d min=%dns max=%dns mean=%.0fns p99=%dns", m_count, m_min, m_max, m_mean, m_p99);
+  }
+}
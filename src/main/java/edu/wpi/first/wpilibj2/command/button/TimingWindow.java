@@ -0,0 +1,59 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-capacity ring buffer of execution times. Recording does not allocate; statistics are
+ * computed from a copy when {@link TimingWindow#getStats()} is called.
+ */
+final class TimingWindow {
+  private final long[] m_samples;
+  private int m_next;
+  private int m_count;
+
+  /**
+   * Creates a new TimingWindow.
+   *
+   * @param size the number of most recent samples to keep
+   */
+  TimingWindow(int size) {
+    m_samples = new long[size];
+  }
+
+  /**
+   * Records a sample, replacing the oldest one if the window is full.
+   *
+   * @param nanos the execution time, in nanoseconds
+   */
+  void record(long nanos) {
+    m_samples[m_next] = nanos;
+    m_next = (m_next + 1) % m_samples.length;
+    if (m_count < m_samples.length) {
+      m_count++;
+    }
+  }
+
+  /**
+   * Computes statistics over the samples currently in the window.
+   *
+   * @return the statistics
+   */
+  TimingStats getStats() {
+    if (m_count == 0) {
+      return new TimingStats(0, 0, 0, 0, 0);
+    }
+    long[] sorted = Arrays.copyOf(m_samples, m_count);
+    Arrays.sort(sorted);
+    long sum = 0;
+    for (long sample : sorted) {
+      sum += sample;
+    }
+    int p99Index = (int) Math.ceil(0.99 * m_count) - 1;
+    return new TimingStats(
+        m_count, sorted[0], sorted[m_count - 1], (double) sum / m_count, sorted[p99Index]);
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+/**
+ * A fixed-capacity ring buffer of the most recent transitions of a BooleanEvent. Along with the time
+ * of each transition it keeps the total time spent true before it, so the time spent true in a
+ * window is the difference of two totals, found with a binary search. Recording does not allocate.
+ */
+final class TransitionHistory {
+  private final long[] m_times;
+  private final long[] m_trueTotals;
+  private final boolean[] m_rising;
+  private int m_next;
+  private int m_count;
+
+  /**
+   * Creates a new TransitionHistory.
+   *
+   * @param capacity the number of most recent transitions to keep
+   */
+  TransitionHistory(int capacity) {
+    m_times = new long[capacity];
+    m_trueTotals = new long[capacity];
+    m_rising = new boolean[capacity];
+  }
+
+  /**
+   * Records a transition, replacing the oldest one if the buffer is full.
+   *
+   * @param time the time of the transition, in microseconds
+   * @param rising whether the state became true
+   */
+  void record(long time, boolean rising) {
+    long total = m_count == 0 ? 0 : trueTotalAt(time);
+    m_times[m_next] = time;
+    m_trueTotals[m_next] = total;
+    m_rising[m_next] = rising;
+    m_next = (m_next + 1) % m_times.length;
+    if (m_count < m_times.length) {
+      m_count++;
+    }
+  }
+
+  /**
+   * Returns the time spent true between the two times, given the current state. If the window
+   * starts before the oldest kept transition, the state before that transition is assumed to have
+   * held since the start of the window.
+   *
+   * @param from the start of the window, in microseconds
+   * @param to the end of the window, in microseconds, no earlier than the latest transition
+   * @param current the current state, used if there are no transitions
+   * @return the time spent true, in microseconds
+   */
+  long trueDuration(long from, long to, boolean current) {
+    if (m_count == 0) {
+      return current ? to - from : 0;
+    }
+    return trueTotalAt(to) - trueTotalAt(from);
+  }
+
+  /** Returns the total time spent true up to the given time, on the scale of m_trueTotals. */
+  private long trueTotalAt(long time) {
+    int oldest = slot(0);
+    if (time < m_times[oldest]) {
+      // Before the oldest transition, the state was the opposite of the state it changed to.
+      return m_trueTotals[oldest] - (m_rising[oldest] ? 0 : m_times[oldest] - time);
+    }
+    // Find the latest transition at or before the given time.
+    int low = 0;
+    int high = m_count - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (m_times[slot(mid)] <= time) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    int latest = slot(low);
+    return m_trueTotals[latest] + (m_rising[latest] ? time - m_times[latest] : 0);
+  }
+
+  /** Returns the buffer index of the given transition, counting from the oldest kept one. */
+  private int slot(int index) {
+    return (m_next - m_count + index + m_times.length) % m_times.length;
+  }
+}
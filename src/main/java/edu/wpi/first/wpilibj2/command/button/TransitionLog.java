@@ -0,0 +1,196 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the transitions of BooleanEvents into a memory-mapped ring file, for analysis after a
+ * match.
+ *
+ * <p>Each transition is one fixed-size binary record holding the id of the event, its new state and
+ * the time of the transition from {@link BooleanEvent#getLastTransitionTime()}. When an event is
+ * tracked, a record of its current state is written first, so the log also holds the state of an
+ * event that never changes. Records are written straight into the mapped file, so recording neither
+ * allocates nor makes a system call, and records already written survive a crash of the robot
+ * program. Once the file is full, the oldest records are overwritten. A record is written before
+ * the count that makes it visible, so a crash in the middle of a write can only tear the slot the
+ * count points at next; once the file is full, that slot holds the oldest record, which readers
+ * therefore skip.
+ *
+ * <p>The names of the tracked events are written to a text file next to the log, named after it
+ * with a {@code .names} suffix. Read both back with a {@link TransitionLogReader}.
+ *
+ * <p>The file starts with a 32-byte little-endian header: the magic number {@code 0x42454C47}, the
+ * format version, the capacity in records, the record size, and the number of records written so
+ * far as a long. Each 16-byte record is the timestamp in microseconds as a long, the event id as an
+ * int, and the state as an int: bit 0 is set if the state is true, and bit 1 is set if the record
+ * holds the state the event had when it was tracked rather than a transition.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class TransitionLog implements AutoCloseable {
+  static final int kMagic = 0x42454C47;
+  static final int kVersion = 2;
+  static final int kHeaderSize = 32;
+  static final int kRecordSize = 16;
+  static final int kCapacityOffset = 8;
+  static final int kCountOffset = 16;
+  static final String kNamesSuffix = ".names";
+  static final int kStateTrue = 1;
+  static final int kStateInitial = 2;
+
+  private final MappedByteBuffer m_buffer;
+  private final int m_capacity;
+  private final Path m_namesFile;
+  private long m_count;
+  private int m_nextId;
+  private boolean m_closed;
+
+  /**
+   * Creates a new TransitionLog, replacing any existing file at the given path.
+   *
+   * @param file the log file
+   * @param capacity the number of records to keep before the oldest are overwritten; once they
+   *     are, one less can be read back
+   * @throws IOException if the file cannot be created or mapped
+   */
+  public TransitionLog(Path file, int capacity) throws IOException {
+    requireNonNullParam(file, "file", "TransitionLog");
+    if (capacity <= 0 || capacity > (Integer.MAX_VALUE - kHeaderSize) / kRecordSize) {
+      throw new IllegalArgumentException("capacity out of range: " + capacity);
+    }
+    m_capacity = capacity;
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      m_buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, kHeaderSize + capacity * kRecordSize);
+    }
+    m_buffer.order(ByteOrder.LITTLE_ENDIAN);
+    m_buffer.putInt(0, kMagic);
+    m_buffer.putInt(4, kVersion);
+    m_buffer.putInt(kCapacityOffset, capacity);
+    m_buffer.putInt(12, kRecordSize);
+    m_buffer.putLong(kCountOffset, 0);
+    m_namesFile = namesFileOf(file);
+    Files.deleteIfExists(m_namesFile);
+  }
+
+  static Path namesFileOf(Path file) {
+    return file.resolveSibling(file.getFileName() + kNamesSuffix);
+  }
+
+  /**
+   * Records the current state of the given BooleanEvent, and then every transition of it, as
+   * delivered when it is polled.
+   *
+   * @param event the event to track
+   * @return the id of the event in the log
+   */
+  public int track(BooleanEvent event) {
+    requireNonNullParam(event, "event", "track");
+    int id = m_nextId++;
+    writeName(id, event.getName());
+    event.onChange(state -> record(id, state, event.getLastTransitionTime()));
+    int initial = event.getDeliveredState() ? kStateInitial | kStateTrue : kStateInitial;
+    write(id, initial, event.now());
+    return id;
+  }
+
+  /**
+   * Records every transition of every BooleanEvent currently bound to the given loop, and of the
+   * events dispatched by its dispatchers, such as those of a {@link ThresholdBands} or an {@link
+   * EventBitset}.
+   *
+   * @param loop the loop whose events to track
+   */
+  public void trackAll(EventLoop loop) {
+    requireNonNullParam(loop, "loop", "trackAll");
+    for (BooleanEvent event : loop.getEvents()) {
+      track(event);
+    }
+    for (BooleanEvent event : loop.getDispatchedEvents()) {
+      track(event);
+    }
+  }
+
+  private void writeName(int id, String name) {
+    try {
+      Files.write(
+          m_namesFile,
+          (id + "\t" + name + "\n").getBytes(StandardCharsets.UTF_8),
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes one record. The record is written before the count that makes it visible to readers,
+   * so a crash in between loses the record instead of leaving a torn one. Once the file is full,
+   * the slot written is the oldest record, which readers skip for the same reason.
+   *
+   * @param id the event id
+   * @param state the new state
+   * @param timestamp the time of the transition, in microseconds
+   */
+  void record(int id, boolean state, long timestamp) {
+    write(id, state ? kStateTrue : 0, timestamp);
+  }
+
+  private void write(int id, int state, long timestamp) {
+    if (m_closed) {
+      return;
+    }
+    int offset = kHeaderSize + (int) (m_count % m_capacity) * kRecordSize;
+    m_buffer.putLong(offset, timestamp);
+    m_buffer.putInt(offset + 8, id);
+    m_buffer.putInt(offset + 12, state);
+    m_count++;
+    m_buffer.putLong(kCountOffset, m_count);
+  }
+
+  /**
+   * Returns the number of records written, including ones since overwritten.
+   *
+   * @return the number of records written
+   */
+  public long getCount() {
+    return m_count;
+  }
+
+  /**
+   * Writes the records to the storage device. The operating system writes them back on its own, so
+   * this is only needed to survive a loss of power.
+   */
+  public void flush() {
+    m_buffer.force();
+  }
+
+  /** Flushes the log and stops recording. Tracked events keep running their other handlers. */
+  @Override
+  public void close() {
+    if (!m_closed) {
+      flush();
+      m_closed = true;
+    }
+  }
+}
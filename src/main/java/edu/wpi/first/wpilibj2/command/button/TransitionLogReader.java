@@ -0,0 +1,197 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads back a file written by a {@link TransitionLog}, oldest record first.
+ *
+ * <p>The reader is a cursor: each call to {@link TransitionLogReader#next()} moves to the next
+ * record, whose fields are then available from the getters. Records are read straight from the
+ * mapped file, so reading a long log does not allocate per record. The number of records is taken
+ * when the reader is opened; records written afterwards are not read.
+ *
+ * <pre>{@code
+ * TransitionLogReader reader = new TransitionLogReader(Path.of("events.bin"));
+ * while (reader.next()) {
+ *   System.out.println(
+ *       reader.getTimestamp() + " " + reader.getEventName(reader.getEventId()) + " "
+ *           + reader.getState());
+ * }
+ * }</pre>
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class TransitionLogReader {
+  private final MappedByteBuffer m_buffer;
+  private final int m_capacity;
+  private final long m_count;
+  private final long m_first;
+  private final Map<Integer, String> m_names = new HashMap<>();
+  private long m_next;
+
+  private long m_timestamp;
+  private int m_eventId;
+  private boolean m_state;
+  private boolean m_initialState;
+
+  /**
+   * Opens a log file for reading.
+   *
+   * @param file the log file
+   * @throws IOException if the file cannot be read or is not a transition log
+   */
+  public TransitionLogReader(Path file) throws IOException {
+    requireNonNullParam(file, "file", "TransitionLogReader");
+    try (FileChannel channel = FileChannel.open(file)) {
+      if (channel.size() < TransitionLog.kHeaderSize) {
+        throw new IOException("Not a transition log: " + file);
+      }
+      m_buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    m_buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (m_buffer.getInt(0) != TransitionLog.kMagic
+        || m_buffer.getInt(4) != TransitionLog.kVersion
+        || m_buffer.getInt(12) != TransitionLog.kRecordSize) {
+      throw new IOException("Not a transition log: " + file);
+    }
+    m_capacity = m_buffer.getInt(TransitionLog.kCapacityOffset);
+    if (m_capacity <= 0
+        || m_buffer.capacity()
+            < TransitionLog.kHeaderSize + (long) m_capacity * TransitionLog.kRecordSize) {
+      throw new IOException("Truncated transition log: " + file);
+    }
+    m_count = m_buffer.getLong(TransitionLog.kCountOffset);
+    // Once the ring is full, the next write goes to the slot of the oldest record, so that record
+    // may have been torn by a crash; skip it along with the overwritten ones.
+    m_first = m_count >= m_capacity ? m_count - m_capacity + 1 : 0;
+    m_next = m_first;
+    readNames(TransitionLog.namesFileOf(file));
+  }
+
+  private void readNames(Path namesFile) throws IOException {
+    if (!Files.exists(namesFile)) {
+      return;
+    }
+    List<String> lines = Files.readAllLines(namesFile, StandardCharsets.UTF_8);
+    for (String line : lines) {
+      int tab = line.indexOf('\t');
+      if (tab > 0) {
+        m_names.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1));
+      }
+    }
+  }
+
+  /**
+   * Moves to the next record.
+   *
+   * @return whether there was another record
+   */
+  public boolean next() {
+    if (m_next >= m_count) {
+      return false;
+    }
+    int offset =
+        TransitionLog.kHeaderSize + (int) (m_next % m_capacity) * TransitionLog.kRecordSize;
+    m_timestamp = m_buffer.getLong(offset);
+    m_eventId = m_buffer.getInt(offset + 8);
+    int state = m_buffer.getInt(offset + 12);
+    m_state = (state & TransitionLog.kStateTrue) != 0;
+    m_initialState = (state & TransitionLog.kStateInitial) != 0;
+    m_next++;
+    return true;
+  }
+
+  /**
+   * Returns the time of the current record's transition.
+   *
+   * @return the timestamp, in microseconds
+   */
+  public long getTimestamp() {
+    return m_timestamp;
+  }
+
+  /**
+   * Returns the id of the event of the current record.
+   *
+   * @return the event id
+   */
+  public int getEventId() {
+    return m_eventId;
+  }
+
+  /**
+   * Returns the new state in the current record.
+   *
+   * @return the new state
+   */
+  public boolean getState() {
+    return m_state;
+  }
+
+  /**
+   * Returns whether the current record holds the state the event had when it was tracked, rather
+   * than a transition.
+   *
+   * @return whether the current record is an initial state
+   */
+  public boolean isInitialState() {
+    return m_initialState;
+  }
+
+  /**
+   * Returns the name an event had when it was tracked.
+   *
+   * @param eventId the event id
+   * @return the name, or null if the names file is missing or does not list the event
+   */
+  public String getEventName(int eventId) {
+    return m_names.get(eventId);
+  }
+
+  /**
+   * Returns the id of the event that was tracked with the given name. Events that were not given a
+   * name with {@link BooleanEvent#withName(String)} are listed under the name of their class, so
+   * look them up by id instead.
+   *
+   * @param name the name of the event
+   * @return the event id, or -1 if no event with that name is listed
+   * @throws IllegalArgumentException if more than one event is listed with that name
+   */
+  public int getEventId(String name) {
+    int id = -1;
+    for (Map.Entry<Integer, String> entry : m_names.entrySet()) {
+      if (entry.getValue().equals(name)) {
+        if (id >= 0) {
+          throw new IllegalArgumentException("More than one recorded event is named " + name);
+        }
+        id = entry.getKey();
+      }
+    }
+    return id;
+  }
+
+  /**
+   * Returns the number of records that were overwritten before the log was read, including the
+   * oldest kept record, which is skipped in case a write to it was interrupted.
+   *
+   * @return the number of lost records
+   */
+  public long getOverwrittenCount() {
+    return m_first;
+  }
+}
@@ -0,0 +1,272 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Re-runs bindings against the input sequence recorded by a {@link TransitionLog}, on a virtual
+ * clock and as fast as the bindings allow.
+ *
+ * <p>Events to replay are given the recorded values of the events they stand for with {@link
+ * TransitionReplay#substitute(BooleanEvent, String)}, before anything is bound to them; their
+ * conditions are then not evaluated, and each starts in the state it was logged with when tracked.
+ * Events that were tracked without a name from {@link BooleanEvent#withName(String)} are
+ * substituted by id with {@link TransitionReplay#substitute(BooleanEvent, int)}. Each {@link
+ * TransitionReplay#step()} applies the records up to the virtual time, polls the added loops,
+ * recording how long the tick took, and advances the virtual clock by one period. Events composed
+ * from substituted ones, and their handlers, run as they would on the robot.
+ *
+ * <pre>{@code
+ * TransitionReplay replay = new TransitionReplay(new TransitionLogReader(path), 0.02);
+ * EventLoop loop = new EventLoop(replay.getClock());
+ * BooleanEvent intake = new BooleanEvent(loop, intakeButton::get);
+ * replay.substitute(intake, "intake");
+ * intake.debounce(0.1).onTrue(intakeCounter::increment);
+ * replay.addLoop(loop);
+ * replay.run();
+ * System.out.println(replay.getTickTimes());
+ * }</pre>
+ *
+ * <p>Time-based events such as {@link BooleanEvent#debounce(double)}, edge times, and time queries
+ * such as {@link BooleanEvent#timeSinceRisingEdge()} only follow the virtual clock if their loop
+ * was created with {@link TransitionReplay#getClock()}.
+ *
+ * <p>This class is provided by the NewCommands VendorDep
+ */
+public final class TransitionReplay {
+  private static final Runnable[] kNoPeriodics = new Runnable[0];
+
+  private final TransitionLogReader m_reader;
+  private final long m_periodMicros;
+  private final long[] m_timestamps;
+  private final int[] m_eventIds;
+  private final boolean[] m_recordStates;
+  private final int m_recordCount;
+  private final boolean[] m_states;
+  private final boolean[] m_recorded;
+  private final PushBooleanEvent[][] m_pushTargets;
+  private final TimingWindow m_tickTimes;
+  private final LongSupplier m_clock = this::getTime;
+  private Runnable[] m_periodics = kNoPeriodics;
+  private int m_nextRecord;
+  private long m_time;
+  private long m_tickCount;
+
+  /**
+   * Creates a new TransitionReplay, reading every record from the given reader. The virtual clock
+   * starts at the first recorded timestamp.
+   *
+   * @param reader the reader of the recorded log
+   * @param periodSeconds the virtual time between ticks, in seconds
+   */
+  public TransitionReplay(TransitionLogReader reader, double periodSeconds) {
+    m_reader = requireNonNullParam(reader, "reader", "TransitionReplay");
+    if (periodSeconds <= 0) {
+      throw new IllegalArgumentException("periodSeconds must be positive");
+    }
+    m_periodMicros = Math.max(1, Math.round(periodSeconds * 1e6));
+
+    long[] timestamps = new long[64];
+    int[] eventIds = new int[64];
+    boolean[] states = new boolean[64];
+    boolean[] initial = new boolean[64];
+    int count = 0;
+    int maxId = -1;
+    while (reader.next()) {
+      if (count == timestamps.length) {
+        timestamps = Arrays.copyOf(timestamps, count * 2);
+        eventIds = Arrays.copyOf(eventIds, count * 2);
+        states = Arrays.copyOf(states, count * 2);
+        initial = Arrays.copyOf(initial, count * 2);
+      }
+      timestamps[count] = reader.getTimestamp();
+      eventIds[count] = reader.getEventId();
+      states[count] = reader.getState();
+      initial[count] = reader.isInitialState();
+      maxId = Math.max(maxId, eventIds[count]);
+      count++;
+    }
+    m_timestamps = timestamps;
+    m_eventIds = eventIds;
+    m_recordStates = states;
+    m_recordCount = count;
+
+    // Each event starts in the state recorded when it was tracked. If that record was overwritten,
+    // the event was in the opposite state before its first remaining transition.
+    m_states = new boolean[maxId + 1];
+    m_recorded = new boolean[maxId + 1];
+    for (int i = 0; i < count; i++) {
+      int id = eventIds[i];
+      if (id >= 0 && !m_recorded[id]) {
+        m_recorded[id] = true;
+        m_states[id] = initial[i] ? states[i] : !states[i];
+      }
+    }
+    m_pushTargets = new PushBooleanEvent[maxId + 1][];
+
+    m_time = count > 0 ? timestamps[0] : 0;
+    long duration = count > 0 ? timestamps[count - 1] - timestamps[0] : 0;
+    m_tickTimes =
+        new TimingWindow((int) Math.min(Integer.MAX_VALUE, duration / m_periodMicros + 2));
+  }
+
+  /**
+   * Returns the virtual clock, for creating the loops to replay with {@link
+   * EventLoop#EventLoop(LongSupplier)}.
+   *
+   * @return the virtual clock, in microseconds
+   */
+  public LongSupplier getClock() {
+    return m_clock;
+  }
+
+  /**
+   * Returns the current virtual time.
+   *
+   * @return the virtual time, in microseconds
+   */
+  public long getTime() {
+    return m_time;
+  }
+
+  /**
+   * Makes an event follow the recorded values of the event tracked under the given name. Call this
+   * before binding to the event, so its initial state is taken from the log.
+   *
+   * @param event the event to substitute
+   * @param name the name the recorded event was tracked under
+   * @return this TransitionReplay, so calls can be chained
+   * @throws IllegalArgumentException if the log lists no event with that name, or several
+   */
+  public TransitionReplay substitute(BooleanEvent event, String name) {
+    requireNonNullParam(name, "name", "substitute");
+    int id = m_reader.getEventId(name);
+    if (id < 0) {
+      throw new IllegalArgumentException("No recorded event named " + name);
+    }
+    return substitute(event, id);
+  }
+
+  /**
+   * Makes an event follow the recorded values of the event with the given id. A {@link
+   * PushBooleanEvent} is pushed each recorded transition instead, so every edge is delivered.
+   *
+   * @param event the event to substitute
+   * @param eventId the id of the recorded event
+   * @return this TransitionReplay, so calls can be chained
+   * @throws IllegalArgumentException if the log has no record of the event
+   */
+  public TransitionReplay substitute(BooleanEvent event, int eventId) {
+    requireNonNullParam(event, "event", "substitute");
+    if (eventId < 0 || eventId >= m_recorded.length || !m_recorded[eventId]) {
+      throw new IllegalArgumentException("No recorded state for event " + eventId);
+    }
+    if (event instanceof PushBooleanEvent) {
+      PushBooleanEvent push = (PushBooleanEvent) event;
+      push.set(m_states[eventId]);
+      PushBooleanEvent[] targets = m_pushTargets[eventId];
+      targets =
+          targets == null ? new PushBooleanEvent[1] : Arrays.copyOf(targets, targets.length + 1);
+      targets[targets.length - 1] = push;
+      m_pushTargets[eventId] = targets;
+    } else {
+      event.m_substitute = () -> m_states[eventId];
+    }
+    return this;
+  }
+
+  /**
+   * Adds a loop to poll on every tick, in the order added.
+   *
+   * @param loop the loop to poll
+   * @return this TransitionReplay, so calls can be chained
+   */
+  public TransitionReplay addLoop(EventLoop loop) {
+    requireNonNullParam(loop, "loop", "addLoop");
+    return addPeriodic(loop::poll);
+  }
+
+  /**
+   * Adds something to run on every tick, such as {@code CommandScheduler.getInstance()::run}, in
+   * the order added.
+   *
+   * @param periodic the Runnable to run
+   * @return this TransitionReplay, so calls can be chained
+   */
+  public TransitionReplay addPeriodic(Runnable periodic) {
+    requireNonNullParam(periodic, "periodic", "addPeriodic");
+    m_periodics = Arrays.copyOf(m_periodics, m_periodics.length + 1);
+    m_periodics[m_periodics.length - 1] = periodic;
+    return this;
+  }
+
+  /**
+   * Runs one tick: applies the records up to the current virtual time, polls the added loops, and
+   * then advances the virtual clock by one period.
+   *
+   * @return whether there are records left to apply
+   */
+  public boolean step() {
+    while (m_nextRecord < m_recordCount && m_timestamps[m_nextRecord] <= m_time) {
+      int id = m_eventIds[m_nextRecord];
+      boolean state = m_recordStates[m_nextRecord];
+      if (id >= 0) {
+        m_states[id] = state;
+        PushBooleanEvent[] targets = m_pushTargets[id];
+        if (targets != null) {
+          for (PushBooleanEvent target : targets) {
+            target.set(state);
+          }
+        }
+      }
+      m_nextRecord++;
+    }
+    long start = System.nanoTime();
+    for (Runnable periodic : m_periodics) {
+      periodic.run();
+    }
+    m_tickTimes.record(System.nanoTime() - start);
+    m_tickCount++;
+    m_time += m_periodMicros;
+    return m_nextRecord < m_recordCount;
+  }
+
+  /**
+   * Runs ticks until every record has been applied.
+   *
+   * @return the number of ticks run
+   */
+  public long run() {
+    long start = m_tickCount;
+    boolean more = true;
+    while (more) {
+      more = step();
+    }
+    return m_tickCount - start;
+  }
+
+  /**
+   * Returns the number of ticks run so far.
+   *
+   * @return the number of ticks
+   */
+  public long getTickCount() {
+    return m_tickCount;
+  }
+
+  /**
+   * Returns statistics of the time each tick took to run, so the cost of bindings can be compared
+   * between revisions of the robot code.
+   *
+   * @return the tick times, in nanoseconds
+   */
+  public TimingStats getTickTimes() {
+    return m_tickTimes.getStats();
+  }
+}
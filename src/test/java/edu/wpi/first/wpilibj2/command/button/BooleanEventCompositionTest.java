@@ -0,0 +1,133 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class BooleanEventCompositionTest {
+  private static final long kTickMicros = 20_000;
+
+  private long m_time;
+  private boolean m_a;
+  private boolean m_b;
+  private boolean m_c;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+
+  private void tick() {
+    m_time += kTickMicros;
+    m_loop.poll();
+  }
+
+  @Test
+  public void composingDoesNotMultiplyOperandHandlers() {
+    BooleanEvent a = new BooleanEvent(m_loop, () -> m_a);
+    BooleanEvent b = new BooleanEvent(m_loop, () -> m_b);
+    int[] aRuns = new int[1];
+    int[] bRuns = new int[1];
+    a.whileTrueContinuous(() -> aRuns[0]++);
+    b.whileTrueContinuous(() -> bRuns[0]++);
+    for (int i = 0; i < 5; i++) {
+      a.and(b);
+      a.or(b);
+      b.and(a).or(a);
+    }
+    m_a = true;
+    m_b = true;
+    for (int i = 0; i < 10; i++) {
+      tick();
+    }
+    assertEquals(10, aRuns[0]);
+    assertEquals(10, bRuns[0]);
+  }
+
+  @Test
+  public void composedEventHasItsOwnHandlers() {
+    BooleanEvent a = new BooleanEvent(m_loop, () -> m_a);
+    BooleanEvent b = new BooleanEvent(m_loop, () -> m_b);
+    int[] aRises = new int[1];
+    int[] andRises = new int[1];
+    int[] orRises = new int[1];
+    a.onTrue(() -> aRises[0]++);
+    a.and(b).onTrue(() -> andRises[0]++);
+    a.or(b).onTrue(() -> orRises[0]++);
+    tick();
+    m_a = true;
+    tick();
+    m_b = true;
+    tick();
+    m_a = false;
+    m_b = false;
+    tick();
+    m_a = true;
+    m_b = true;
+    tick();
+    assertEquals(2, aRises[0]);
+    assertEquals(2, andRises[0]);
+    assertEquals(2, orRises[0]);
+  }
+
+  @Test
+  public void eachHandlerRunsOncePerTickAlongAChain() {
+    BooleanEvent a = new BooleanEvent(m_loop, () -> m_a);
+    BooleanEvent b = new BooleanEvent(m_loop, () -> m_b);
+    BooleanEvent c = new BooleanEvent(m_loop, () -> m_c);
+    BooleanEvent and = a.and(b);
+    BooleanEvent or = and.or(c);
+    BooleanEvent debounced = or.debounce(0.1);
+    int[] runs = new int[4];
+    and.whileTrueContinuous(() -> runs[0]++);
+    or.whileTrueContinuous(() -> runs[1]++);
+    debounced.whileTrueContinuous(() -> runs[2]++);
+    debounced.onTrue(() -> runs[3]++);
+    m_a = true;
+    m_b = true;
+    for (int i = 0; i < 10; i++) {
+      tick();
+    }
+    assertEquals(10, runs[0]);
+    assertEquals(10, runs[1]);
+    // The last false sample was taken when binding, at 0 ms, so the debounced event is true from
+    // 100 ms: the last 6 of the 10 ticks.
+    assertEquals(6, runs[2]);
+    assertEquals(1, runs[3]);
+  }
+
+  @Test
+  public void debouncedEventDoesNotRunSourceHandlers() {
+    BooleanEvent a = new BooleanEvent(m_loop, () -> m_a);
+    int[] sourceRuns = new int[1];
+    int[] debouncedRuns = new int[1];
+    a.whileTrueContinuous(() -> sourceRuns[0]++);
+    a.debounce(0.1).debounce(0.1).whileTrueContinuous(() -> debouncedRuns[0]++);
+    m_a = true;
+    for (int i = 0; i < 20; i++) {
+      tick();
+    }
+    assertEquals(20, sourceRuns[0]);
+    // The first debounce is true from 100 ms, and the second from 100 ms after its last false
+    // sample at 80 ms: the last 12 of the 20 ticks.
+    assertEquals(12, debouncedRuns[0]);
+  }
+
+  @Test
+  public void composedEventWithoutLoopRunsOnlyItsOwnHandlers() {
+    BooleanEvent a = new BooleanEvent(() -> m_a);
+    BooleanEvent b = new BooleanEvent(() -> m_b);
+    int[] operandRuns = new int[1];
+    int[] andRuns = new int[1];
+    a.whileTrueContinuous(() -> operandRuns[0]++);
+    b.whileTrueContinuous(() -> operandRuns[0]++);
+    BooleanEvent and = a.and(b).whileTrueContinuous(() -> andRuns[0]++);
+    m_a = true;
+    m_b = true;
+    for (int i = 0; i < 3; i++) {
+      and.poll();
+    }
+    assertEquals(0, operandRuns[0]);
+    assertEquals(3, andRuns[0]);
+  }
+}
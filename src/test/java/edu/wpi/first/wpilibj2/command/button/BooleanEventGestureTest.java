@@ -0,0 +1,142 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class BooleanEventGestureTest {
+  private long m_time;
+  private boolean m_a;
+  private boolean m_b;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private final List<Long> m_rising = new ArrayList<>();
+  private final List<Long> m_falling = new ArrayList<>();
+
+  private void tick() {
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  private void hold(boolean state, int ticks) {
+    m_a = state;
+    for (int i = 0; i < ticks; i++) {
+      tick();
+    }
+  }
+
+  private void record(BooleanEvent event) {
+    event.onTrue(() -> m_rising.add(m_time)).onFalse(() -> m_falling.add(m_time));
+  }
+
+  @Test
+  public void doubleTapFiresOnTheSecondPressAndHoldsUntilRelease() {
+    record(new BooleanEvent(m_loop, () -> m_a).doubleTap(0.3));
+    hold(false, 1);
+    hold(true, 2);
+    hold(false, 2);
+    hold(true, 3);
+    hold(false, 1);
+    assertEquals(List.of(120_000L), m_rising);
+    assertEquals(List.of(180_000L), m_falling);
+  }
+
+  @Test
+  public void doubleTapWindowIncludesItsBoundary() {
+    record(new BooleanEvent(m_loop, () -> m_a).doubleTap(4.1));
+    hold(false, 1);
+    // Rising edges at 40 ms and 4140 ms, exactly one window apart.
+    hold(true, 1);
+    hold(false, 204);
+    hold(true, 1);
+    assertEquals(List.of(4_140_000L), m_rising);
+    hold(false, 1);
+    // One tick past the window, the second press only starts a new double tap.
+    hold(true, 1);
+    hold(false, 205);
+    hold(true, 1);
+    assertEquals(1, m_rising.size());
+  }
+
+  @Test
+  public void thirdPressStartsANewDoubleTap() {
+    record(new BooleanEvent(m_loop, () -> m_a).doubleTap(0.3));
+    hold(false, 1);
+    for (int press = 0; press < 4; press++) {
+      hold(true, 1);
+      hold(false, 1);
+    }
+    assertEquals(List.of(80_000L, 160_000L), m_rising);
+  }
+
+  @Test
+  public void expiredFirstPressIsReplacedByTheLateOne() {
+    record(new BooleanEvent(m_loop, () -> m_a).doubleTap(0.1));
+    hold(false, 1);
+    hold(true, 1);
+    hold(false, 10);
+    hold(true, 1);
+    hold(false, 1);
+    hold(true, 1);
+    assertEquals(List.of(300_000L), m_rising);
+  }
+
+  @Test
+  public void pressHeldAtCreationIsNotAFirstTap() {
+    m_a = true;
+    record(new BooleanEvent(m_loop, () -> m_a).doubleTap(0.3));
+    hold(true, 1);
+    hold(false, 1);
+    hold(true, 1);
+    assertEquals(List.of(), m_rising);
+  }
+
+  @Test
+  public void longPressFiresAfterTheDurationAndRestartsOnRelease() {
+    record(new BooleanEvent(m_loop, () -> m_a).longPress(0.1));
+    hold(false, 1);
+    hold(true, 4);
+    hold(false, 1);
+    hold(true, 6);
+    hold(false, 1);
+    assertEquals(List.of(220_000L), m_rising);
+    assertEquals(List.of(260_000L), m_falling);
+  }
+
+  @Test
+  public void longPressOfASlowEventIsTimedFromItsSampledEdges() {
+    BooleanEvent slow = new BooleanEvent(m_loop, () -> m_a).pollEvery(2);
+    record(slow.longPress(0.1));
+    hold(false, 2);
+    // Pressed on tick 3, between samples: the long press still sees it released at 60 ms, and the
+    // press on tick 4.
+    hold(true, 8);
+    // Released on tick 11, and seen on tick 12.
+    hold(false, 2);
+    assertEquals(List.of(160_000L), m_rising);
+    assertEquals(List.of(240_000L), m_falling);
+  }
+
+  @Test
+  public void sequenceNeedsTheFirstEventToRiseFirst() {
+    BooleanEvent first = new BooleanEvent(m_loop, () -> m_a);
+    BooleanEvent second = new BooleanEvent(m_loop, () -> m_b);
+    record(BooleanEvent.sequence(first, second, 0.2));
+    tick();
+    m_b = true;
+    tick();
+    m_a = true;
+    tick();
+    assertEquals(List.of(), m_rising);
+    m_b = false;
+    tick();
+    m_b = true;
+    tick();
+    assertEquals(List.of(100_000L), m_rising);
+  }
+}
@@ -0,0 +1,169 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class BooleanEventTest {
+  private long m_time;
+  private boolean m_state;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+
+  private void tick(boolean state) {
+    m_state = state;
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  @Test
+  public void handlerBoundTwiceRunsTwice() {
+    int[] runs = new int[3];
+    Runnable rising = () -> runs[0]++;
+    Runnable falling = () -> runs[1]++;
+    Runnable whileTrue = () -> runs[2]++;
+    new BooleanEvent(m_loop, () -> m_state)
+        .onTrue(rising)
+        .onTrue(rising)
+        .onFalse(falling)
+        .onFalse(falling)
+        .whileTrueContinuous(whileTrue)
+        .whileTrueContinuous(whileTrue);
+    tick(true);
+    tick(false);
+    assertEquals(2, runs[0]);
+    assertEquals(2, runs[1]);
+    assertEquals(2, runs[2]);
+  }
+
+  @Test
+  public void handlerTimesFollowBindingOrderWithRepeatedHandlers() {
+    Runnable handler = () -> {};
+    new BooleanEvent(m_loop, () -> m_state).onTrue(handler).onTrue(handler).onFalse(handler);
+    m_loop.enableTimings(8);
+    tick(true);
+    tick(false);
+    List<TimingStats> handlerTimes = m_loop.getTimings().get(0).getHandlerTimes();
+    assertEquals(3, handlerTimes.size());
+    for (TimingStats stats : handlerTimes) {
+      assertEquals(1, stats.getCount());
+    }
+  }
+
+  @Test
+  public void alreadyTrueEventDoesNotFireOnFirstPoll() {
+    int[] runs = new int[1];
+    m_state = true;
+    new BooleanEvent(m_loop, () -> m_state).onTrue(() -> runs[0]++);
+    tick(true);
+    assertEquals(0, runs[0]);
+    tick(false);
+    tick(true);
+    assertEquals(1, runs[0]);
+  }
+
+  @Test
+  public void timeQueriesFollowTheLoopClock() {
+    BooleanEvent event = new BooleanEvent(m_loop, () -> m_state).withHistory(8);
+    tick(false);
+    tick(true);
+    assertEquals(40_000, event.getLastRisingEdgeTime());
+    tick(true);
+    tick(false);
+    assertEquals(80_000, event.getLastFallingEdgeTime());
+    assertEquals(0.04, event.timeSinceRisingEdge(), 1e-9);
+    assertEquals(0.04, event.trueDurationInWindow(0.1), 1e-9);
+    m_time += 20_000;
+    assertTrue(event.wasTrueWithin(0.02));
+    assertFalse(event.wasTrueWithin(0.01));
+  }
+
+  @Test
+  public void loopsTimeASharedEventSeparately() {
+    EventLoop other = new EventLoop(() -> m_time);
+    BooleanEvent event = new BooleanEvent(m_loop, () -> m_state).onTrue(() -> {});
+    other.bind(event);
+    m_loop.enableTimings(8);
+    other.enableTimings(8);
+    other.disableTimings();
+    other.unbind(event);
+    tick(true);
+    other.poll();
+    assertEquals(1, m_loop.getTimings().get(0).getPollTime().getCount());
+    assertTrue(other.getTimings().isEmpty());
+  }
+
+  @Test
+  public void clearBindingsDiscardsHandlerTimes() {
+    BooleanEvent event = new BooleanEvent(m_loop, () -> m_state).whileTrueContinuous(() -> {});
+    m_loop.enableTimings(8);
+    tick(true);
+    tick(true);
+    event.clearBindings();
+    assertTrue(m_loop.getTimings().get(0).getHandlerTimes().isEmpty());
+    event.whileTrueContinuous(() -> {});
+    tick(true);
+    List<TimingStats> handlerTimes = m_loop.getTimings().get(0).getHandlerTimes();
+    assertEquals(1, handlerTimes.size());
+    assertEquals(1, handlerTimes.get(0).getCount());
+  }
+
+  @Test
+  public void eventsWithTheSamePeriodAreSpreadOverItsTicks() {
+    int[] samples = new int[5];
+    for (int i = 0; i < samples.length; i++) {
+      int event = i;
+      new BooleanEvent(
+              m_loop,
+              () -> {
+                samples[event]++;
+                return m_state;
+              })
+          .pollEvery(2);
+    }
+    int[] perTick = new int[4];
+    for (int t = 0; t < perTick.length; t++) {
+      int before = Arrays.stream(samples).sum();
+      tick(false);
+      perTick[t] = Arrays.stream(samples).sum() - before;
+    }
+    assertArrayEquals(new int[] {2, 3, 2, 3}, perTick);
+    assertArrayEquals(new int[] {2, 2, 2, 2, 2}, samples);
+  }
+
+  @Test
+  public void handlersRunGroupedByKindAndThenInBindingOrder() {
+    List<String> order = new ArrayList<>();
+    BooleanEvent event = new BooleanEvent(m_loop, () -> m_state);
+    event.addHandler(() -> order.add("every poll"));
+    event.whileTrueContinuous(() -> order.add("while true"));
+    event.onFalse(() -> order.add("falling"));
+    event.onTrue(() -> order.add("rising 1"));
+    event.onTrue(() -> order.add("rising 2"));
+    tick(true);
+    tick(false);
+    assertEquals(
+        List.of("rising 1", "rising 2", "while true", "every poll", "falling", "every poll"),
+        order);
+  }
+
+  @Test
+  public void levelBindingRunsAfterAnEdgeBindingOnTheSamePoll() {
+    boolean[] scheduled = new boolean[1];
+    new BooleanEvent(m_loop, () -> m_state)
+        .whileTrueContinuous(() -> scheduled[0] = true)
+        .onTrue(() -> scheduled[0] = false);
+    tick(false);
+    tick(true);
+    assertTrue(scheduled[0]);
+  }
+}
@@ -0,0 +1,101 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ChordMatcherTest {
+  private static final int kA = 1;
+  private static final int kB = 2;
+  private static final int kLeftBumper = 5;
+  private static final int kRightBumper = 6;
+
+  private long m_time;
+  private int m_buttons;
+  private int m_reads;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private final ChordMatcher m_matcher =
+      new ChordMatcher(
+          m_loop,
+          () -> {
+            m_reads++;
+            return m_buttons;
+          });
+  private final List<String> m_edges = new ArrayList<>();
+
+  private void tick(int... buttons) {
+    m_buttons = 0;
+    for (int button : buttons) {
+      m_buttons |= 1 << (button - 1);
+    }
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  private BooleanEvent logged(BooleanEvent event, String name) {
+    return event.onTrue(() -> m_edges.add("+" + name)).onFalse(() -> m_edges.add("-" + name));
+  }
+
+  @Test
+  public void maskAndValueMatchOnlyTheButtonsInTheMask() {
+    int a = 1 << (kA - 1);
+    int b = 1 << (kB - 1);
+    BooleanEvent aWithoutB = m_matcher.match(a | b, a);
+    tick(kA);
+    assertTrue(aWithoutB.get());
+    tick(kA, kB);
+    assertFalse(aWithoutB.get());
+    tick(kA, kLeftBumper);
+    assertTrue(aWithoutB.get());
+    tick();
+    assertFalse(aWithoutB.get());
+  }
+
+  @Test
+  public void heldSuperChordSuppressesItsSubChords() {
+    BooleanEvent a = m_matcher.chord(kA);
+    BooleanEvent bumpers = m_matcher.chord(kLeftBumper, kRightBumper);
+    BooleanEvent all = m_matcher.chord(kLeftBumper, kRightBumper, kA);
+    tick(kLeftBumper, kRightBumper, kA);
+    assertFalse(a.get());
+    assertFalse(bumpers.get());
+    assertTrue(all.get());
+    tick(kA, kB);
+    assertTrue(a.get());
+    assertFalse(all.get());
+  }
+
+  @Test
+  public void releasingAChordHandsOverToTheChordStillHeld() {
+    logged(m_matcher.chord(kA), "A");
+    logged(m_matcher.chord(kLeftBumper, kRightBumper), "LB+RB");
+    logged(m_matcher.chord(kLeftBumper, kRightBumper, kA), "LB+RB+A");
+    tick(kLeftBumper);
+    tick(kLeftBumper, kRightBumper);
+    tick(kLeftBumper, kRightBumper, kA);
+    tick(kLeftBumper, kRightBumper);
+    tick(kRightBumper);
+    tick();
+    assertEquals(List.of("+LB+RB", "-LB+RB", "+LB+RB+A", "+LB+RB", "-LB+RB+A", "-LB+RB"), m_edges);
+  }
+
+  @Test
+  public void chordAddedMidTickReusesTheSampledWord() {
+    m_matcher.chord(kA);
+    tick(kA, kB);
+    assertEquals(1, m_reads);
+    BooleanEvent ab = m_matcher.chord(kA, kB);
+    assertTrue(ab.get());
+    assertEquals(1, m_reads);
+    tick(kA, kB);
+    assertEquals(2, m_reads);
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandBooleanEventTest {
+  private boolean m_state;
+  private int m_runs;
+
+  @Before
+  public void setup() {
+    HAL.initialize(500, 0);
+    CommandScheduler.getInstance().clearButtons();
+    CommandBooleanEvent.rebindDefaultLoop();
+  }
+
+  @After
+  public void teardown() {
+    CommandScheduler.getInstance().clearButtons();
+  }
+
+  private void tick(boolean state) {
+    m_state = state;
+    CommandScheduler.getInstance().run();
+  }
+
+  @Test
+  public void defaultLoopIsPolledOncePerSchedulerRun() {
+    new CommandBooleanEvent(() -> m_state).onTrue(() -> m_runs++);
+    new CommandBooleanEvent(() -> m_state).onTrue(() -> m_runs++);
+    tick(false);
+    tick(true);
+    assertEquals(2, m_runs);
+    tick(false);
+    tick(true);
+    assertEquals(4, m_runs);
+  }
+
+  @Test
+  public void bindingsArePolledAgainAfterRebindingTheDefaultLoop() {
+    new CommandBooleanEvent(() -> m_state).onTrue(() -> m_runs++);
+    CommandScheduler.getInstance().clearButtons();
+    CommandBooleanEvent.rebindDefaultLoop();
+    new CommandBooleanEvent(() -> m_state).onTrue(() -> m_runs++);
+    tick(false);
+    tick(true);
+    assertEquals(2, m_runs);
+  }
+
+  @Test
+  public void rebindingWhileRegisteredStillPollsOncePerRun() {
+    new CommandBooleanEvent(() -> m_state).onTrue(() -> m_runs++);
+    CommandBooleanEvent.rebindDefaultLoop();
+    tick(false);
+    tick(true);
+    assertEquals(1, m_runs);
+  }
+
+  @Test
+  public void eventsCanBeCreatedWhileTheSchedulerRunsButtons() {
+    CommandScheduler.getInstance()
+        .addButton(() -> new CommandBooleanEvent(() -> m_state).onTrue(() -> m_runs++));
+    tick(false);
+    tick(true);
+    assertEquals(1, m_runs);
+  }
+}
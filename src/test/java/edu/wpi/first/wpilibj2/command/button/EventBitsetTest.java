@@ -0,0 +1,90 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+
+import edu.wpi.first.wpilibj2.command.button.EventBitset.BitEvent;
+import org.junit.Test;
+
+public class EventBitsetTest {
+  private long m_time;
+  private boolean m_a;
+  private boolean m_b;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private final EventBitset m_bits = new EventBitset(m_loop);
+
+  private void tick(boolean a, boolean b) {
+    m_a = a;
+    m_b = b;
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  @Test
+  public void bitEventsFireOnlyWhenTheirBitChanges() {
+    BitEvent a = m_bits.add(() -> m_a);
+    BitEvent b = m_bits.add(() -> m_b);
+    int[] runs = new int[3];
+    a.and(b).onTrue(() -> runs[0]++);
+    a.negate().onTrue(() -> runs[1]++);
+    b.whileTrueContinuous(() -> runs[2]++);
+    tick(true, false);
+    tick(true, true);
+    tick(true, true);
+    tick(false, true);
+    tick(true, true);
+    assertEquals(2, runs[0]);
+    assertEquals(1, runs[1]);
+    assertEquals(4, runs[2]);
+  }
+
+  @Test
+  public void bitEventsComposeWithOtherEvents() {
+    BitEvent a = m_bits.add(() -> m_a);
+    BooleanEvent b = new BooleanEvent(m_loop, () -> m_b);
+    int[] runs = new int[1];
+    a.and(b).onTrue(() -> runs[0]++);
+    tick(false, true);
+    tick(true, true);
+    tick(true, false);
+    tick(true, true);
+    assertEquals(2, runs[0]);
+  }
+
+  @Test
+  public void timingsSeeOnlyTheBitEvents() {
+    m_bits.add(() -> m_a).withName("a");
+    m_bits.add(() -> m_b).withName("b");
+    m_loop.enableTimings(8);
+    tick(false, false);
+    assertEquals(0, m_loop.size());
+    assertEquals(2, m_loop.getTimings().size());
+    assertEquals("a", m_loop.getTimings().get(0).getName());
+  }
+
+  @Test
+  public void bitsAddedMidTickDoNotSampleTheOtherLeavesAgain() {
+    int[] reads = new int[1];
+    BitEvent a =
+        m_bits.add(
+            () -> {
+              reads[0]++;
+              return m_a;
+            });
+    int[] runs = new int[2];
+    tick(true, true);
+    assertEquals(1, reads[0]);
+    BitEvent b = m_bits.add(() -> m_b);
+    m_bits.allOf(a, b).onTrue(() -> runs[0]++);
+    b.onFalse(() -> runs[1]++);
+    assertEquals(1, reads[0]);
+    tick(true, true);
+    assertEquals(2, reads[0]);
+    tick(true, false);
+    assertEquals(0, runs[0]);
+    assertEquals(1, runs[1]);
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+
+import edu.wpi.first.wpilibj2.command.InstantCommand;
+import java.lang.management.ManagementFactory;
+import org.junit.Test;
+
+public class EventLoopAllocationTest {
+  private static final int kWarmupTicks = 50_000;
+  private static final int kMeasuredTicks = 10_000;
+
+  private final com.sun.management.ThreadMXBean m_threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private final long m_threadId = Thread.currentThread().getId();
+  private boolean m_state;
+  private int m_changes;
+
+  /**
+   * Returns the bytes allocated by the given number of polls of the loop, less the bytes allocated
+   * by reading the allocation counter itself.
+   */
+  private long allocatedBy(EventLoop loop, Runnable beforePoll, int ticks) {
+    long overhead = allocatedBytes();
+    overhead = allocatedBytes() - overhead;
+    long start = allocatedBytes();
+    for (int i = 0; i < ticks; i++) {
+      beforePoll.run();
+      loop.poll();
+    }
+    return allocatedBytes() - start - overhead;
+  }
+
+  private long allocatedBytes() {
+    return m_threads.getThreadAllocatedBytes(m_threadId);
+  }
+
+  private EventLoop commandLoop() {
+    EventLoop loop = new EventLoop(() -> System.nanoTime() / 1000);
+    for (int i = 0; i < 10; i++) {
+      new CommandBooleanEvent(loop, () -> m_state)
+          .onTrue(new InstantCommand())
+          .whileTrueOnce(new InstantCommand())
+          .toggleOnTrue(new InstantCommand())
+          .cancelOnTrue(new InstantCommand());
+    }
+    return loop;
+  }
+
+  @Test
+  public void steadyFalsePollDoesNotAllocate() {
+    EventLoop loop = commandLoop();
+    m_state = false;
+    allocatedBy(loop, () -> {}, kWarmupTicks);
+    assertEquals(0, allocatedBy(loop, () -> {}, kMeasuredTicks));
+  }
+
+  @Test
+  public void steadyTruePollDoesNotAllocate() {
+    EventLoop loop = commandLoop();
+    m_state = false;
+    loop.poll();
+    m_state = true;
+    loop.poll();
+    allocatedBy(loop, () -> {}, kWarmupTicks);
+    assertEquals(0, allocatedBy(loop, () -> {}, kMeasuredTicks));
+  }
+
+  @Test
+  public void edgesDeliveredToBooleanConsumerDoNotAllocate() {
+    EventLoop loop = new EventLoop(() -> System.nanoTime() / 1000);
+    new BooleanEvent(loop, () -> m_state)
+        .onChange(value -> m_changes++)
+        .onTrue(() -> m_changes++)
+        .onFalse(() -> m_changes++);
+    Runnable toggle = () -> m_state = !m_state;
+    allocatedBy(loop, toggle, kWarmupTicks);
+    m_changes = 0;
+    assertEquals(0, allocatedBy(loop, toggle, kMeasuredTicks));
+    assertEquals(2 * kMeasuredTicks, m_changes);
+  }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.button.HandlerExecutor.AsyncHandler;
+import edu.wpi.first.wpilibj2.command.button.HandlerExecutor.OverflowPolicy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HandlerExecutorTest {
+  private HandlerExecutor m_executor;
+  private final AtomicInteger m_runs = new AtomicInteger();
+  private final Semaphore m_finished = new Semaphore(0);
+  private final CountDownLatch m_started = new CountDownLatch(1);
+  private final CountDownLatch m_release = new CountDownLatch(1);
+
+  @Before
+  public void setup() {
+    HAL.initialize(500, 0);
+    m_executor = new HandlerExecutor(1);
+  }
+
+  @After
+  public void teardown() {
+    m_executor.close();
+  }
+
+  /** A handler whose first run blocks until released. */
+  private void blockingHandler() {
+    m_started.countDown();
+    try {
+      m_release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    m_runs.incrementAndGet();
+    m_finished.release();
+  }
+
+  private void awaitRuns(int runs) throws InterruptedException {
+    assertTrue(m_finished.tryAcquire(runs, 5, TimeUnit.SECONDS));
+    // Give any run that should not happen a chance to show up.
+    Thread.sleep(50);
+    assertEquals(runs, m_runs.get());
+  }
+
+  @Test
+  public void coalesceRunsOnceMoreAfterTheCurrentRun() throws InterruptedException {
+    AsyncHandler handler = m_executor.async(this::blockingHandler, 1, OverflowPolicy.kCoalesce);
+    handler.run();
+    assertTrue(m_started.await(5, TimeUnit.SECONDS));
+    handler.run();
+    handler.run();
+    m_release.countDown();
+    awaitRuns(2);
+    assertEquals(1, handler.getCoalescedCount());
+    assertEquals(0, handler.getDroppedCount());
+  }
+
+  @Test
+  public void dropDiscardsRunsWhileTheQueueIsFull() throws InterruptedException {
+    AsyncHandler handler = m_executor.async(this::blockingHandler, 1, OverflowPolicy.kDrop);
+    handler.run();
+    assertTrue(m_started.await(5, TimeUnit.SECONDS));
+    handler.run();
+    handler.run();
+    m_release.countDown();
+    awaitRuns(1);
+    assertEquals(2, handler.getDroppedCount());
+  }
+
+  @Test
+  public void coalescedRunIsNotLostWhileRunsFinish() throws InterruptedException {
+    AsyncHandler handler =
+        m_executor.async(
+            () -> {
+              m_runs.incrementAndGet();
+              m_finished.release();
+            },
+            1,
+            OverflowPolicy.kCoalesce);
+    for (int i = 0; i < 10_000; i++) {
+      handler.run();
+    }
+    // Every trigger either ran or was merged into a run that started after it.
+    for (int i = 0; i < 500 && m_runs.get() + handler.getCoalescedCount() < 10_000; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(10_000, m_runs.get() + handler.getCoalescedCount());
+    assertEquals(0, handler.getQueueDepth());
+  }
+
+  @Test
+  public void handlerRunsAgainAfterThrowingAnError() throws InterruptedException {
+    AtomicInteger calls = new AtomicInteger();
+    AsyncHandler handler =
+        m_executor.async(
+            () -> {
+              if (calls.getAndIncrement() == 0) {
+                throw new AssertionError("first run fails");
+              }
+              m_runs.incrementAndGet();
+              m_finished.release();
+            },
+            1,
+            OverflowPolicy.kDrop);
+    handler.run();
+    for (int i = 0; i < 100 && handler.getQueueDepth() > 0; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, handler.getQueueDepth());
+    handler.run();
+    awaitRuns(1);
+  }
+}
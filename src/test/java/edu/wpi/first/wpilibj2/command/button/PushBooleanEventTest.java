@@ -0,0 +1,84 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PushBooleanEventTest {
+  private static final int kPulses = 200_000;
+
+  private long m_time;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private int m_rising;
+  private int m_falling;
+  private int m_immediate;
+
+  private void tick() {
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  @Test
+  public void everyPulseFromAnotherThreadIsDeliveredOnce() throws InterruptedException {
+    PushBooleanEvent event = new PushBooleanEvent(m_loop, false);
+    event.onTrue(() -> m_rising++).onFalse(() -> m_falling++);
+    event.onChangeImmediate(value -> m_immediate++);
+    Thread interrupt =
+        new Thread(
+            () -> {
+              for (int i = 0; i < kPulses; i++) {
+                event.set(true);
+                event.set(false);
+              }
+            });
+    interrupt.start();
+    while (interrupt.isAlive()) {
+      tick();
+      // Edges are delivered in order, so the falling edge never gets ahead of the rising one.
+      assertTrue(m_rising - m_falling == 0 || m_rising - m_falling == 1);
+    }
+    interrupt.join();
+    tick();
+    assertEquals(kPulses, m_rising);
+    assertEquals(kPulses, m_falling);
+    assertEquals(2 * kPulses, m_immediate);
+  }
+
+  @Test
+  public void pulseBetweenPollsFiresBothEdges() {
+    PushBooleanEvent event = new PushBooleanEvent(m_loop, false);
+    event.onTrue(() -> m_rising++).onFalse(() -> m_falling++);
+    tick();
+    event.set(true);
+    event.set(false);
+    event.set(true);
+    event.set(false);
+    tick();
+    assertEquals(2, m_rising);
+    assertEquals(2, m_falling);
+    tick();
+    assertEquals(2, m_rising);
+  }
+
+  @Test
+  public void edgesPushedBeforeBindingAreNotDelivered() {
+    PushBooleanEvent event = new PushBooleanEvent(m_loop, false);
+    for (int i = 0; i < 10; i++) {
+      event.set(true);
+      event.set(false);
+    }
+    event.set(true);
+    event.onTrue(() -> m_rising++).onFalse(() -> m_falling++);
+    tick();
+    assertEquals(0, m_rising);
+    assertEquals(0, m_falling);
+    event.set(false);
+    tick();
+    assertEquals(1, m_falling);
+  }
+}
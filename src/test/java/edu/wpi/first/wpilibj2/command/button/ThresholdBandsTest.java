@@ -0,0 +1,83 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ThresholdBandsTest {
+  private long m_time;
+  private double m_value;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private final ThresholdBands m_bands =
+      new DoubleEvent(m_loop, () -> m_value).bands(0.25, 0.5, 0.75);
+
+  private void tick(double value) {
+    m_value = value;
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  @Test
+  public void bandEventsFireOnBandChanges() {
+    int[] runs = new int[3];
+    m_bands.inBand(2).onTrue(() -> runs[0]++).onFalse(() -> runs[1]++);
+    m_bands.atOrAbove(0).whileTrueContinuous(() -> runs[2]++);
+    tick(0.0);
+    tick(0.6);
+    tick(0.7);
+    tick(0.9);
+    tick(0.1);
+    assertEquals(1, runs[0]);
+    assertEquals(1, runs[1]);
+    assertEquals(3, runs[2]);
+  }
+
+  @Test
+  public void eventsComposedFromBandsArePolledByTheLoop() {
+    int[] runs = new int[1];
+    m_bands.inBand(1).or(m_bands.inBand(3)).onTrue(() -> runs[0]++);
+    tick(0.0);
+    tick(0.3);
+    tick(0.6);
+    tick(0.8);
+    assertEquals(2, runs[0]);
+  }
+
+  @Test
+  public void timingsListOnlyTheBandEvents() {
+    m_bands.inBand(0).withName("low");
+    m_bands.atOrAbove(2).withName("high");
+    m_loop.enableTimings(8);
+    tick(0.0);
+    tick(0.9);
+    List<EventTimings> timings = m_loop.getTimings();
+    assertEquals(2, timings.size());
+    assertEquals("low", timings.get(0).getName());
+    assertEquals("high", timings.get(1).getName());
+    assertEquals(2, timings.get(0).getPollTime().getCount());
+  }
+
+  @Test
+  public void onlyEventsWithLevelHandlersAreDispatchedWhileTheBandHolds() {
+    int[] runs = new int[2];
+    m_bands.inBand(0).onTrue(() -> runs[0]++);
+    m_bands.atOrAbove(1).withName("above");
+    m_loop.enableTimings(8);
+    tick(0.0);
+    tick(0.1);
+    tick(0.2);
+    m_bands.inBand(0).whileTrueContinuous(() -> runs[1]++);
+    tick(0.2);
+    tick(0.3);
+    assertEquals(0, runs[0]);
+    assertEquals(1, runs[1]);
+    List<EventTimings> timings = m_loop.getTimings();
+    assertEquals(3, timings.get(0).getPollTime().getCount());
+    assertEquals(1, timings.get(1).getPollTime().getCount());
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransitionLogTest {
+  private long m_time;
+  private boolean m_a;
+  private double m_value;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private Path m_file;
+
+  @Before
+  public void setup() throws IOException {
+    m_file = Files.createTempFile("transitions", ".bin");
+  }
+
+  @After
+  public void teardown() throws IOException {
+    Files.deleteIfExists(TransitionLog.namesFileOf(m_file));
+    Files.deleteIfExists(m_file);
+  }
+
+  private void tick() {
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  @Test
+  public void logStartsWithTheStateOfEachTrackedEvent() throws IOException {
+    m_a = true;
+    BooleanEvent held = new BooleanEvent(m_loop, () -> m_a).withName("held");
+    BooleanEvent idle = new BooleanEvent(m_loop, () -> false).withName("idle");
+    try (TransitionLog log = new TransitionLog(m_file, 16)) {
+      log.track(held);
+      log.track(idle);
+      tick();
+      m_a = false;
+      tick();
+    }
+    TransitionLogReader reader = new TransitionLogReader(m_file);
+    assertTrue(reader.next());
+    assertEquals(reader.getEventId("held"), reader.getEventId());
+    assertTrue(reader.isInitialState());
+    assertTrue(reader.getState());
+    assertTrue(reader.next());
+    assertEquals(reader.getEventId("idle"), reader.getEventId());
+    assertTrue(reader.isInitialState());
+    assertFalse(reader.getState());
+    assertTrue(reader.next());
+    assertEquals(reader.getEventId("held"), reader.getEventId());
+    assertFalse(reader.isInitialState());
+    assertFalse(reader.getState());
+    assertFalse(reader.next());
+  }
+
+  @Test
+  public void trackAllTracksDispatchedEventsInsteadOfTheirDispatchers() throws IOException {
+    ThresholdBands bands = new DoubleEvent(m_loop, () -> m_value).bands(0.5);
+    bands.inBand(0).withName("low");
+    bands.inBand(1).withName("high");
+    try (TransitionLog log = new TransitionLog(m_file, 16)) {
+      log.trackAll(m_loop);
+      tick();
+      m_value = 1.0;
+      tick();
+      assertEquals(4, log.getCount());
+    }
+    TransitionLogReader reader = new TransitionLogReader(m_file);
+    assertEquals(0, reader.getEventId("low"));
+    assertEquals(1, reader.getEventId("high"));
+    assertEquals(null, reader.getEventName(2));
+  }
+
+  @Test
+  public void recordTornByACrashAfterWrappingIsNotRead() throws IOException {
+    BooleanEvent event = new BooleanEvent(m_loop, () -> m_a).withName("a");
+    try (TransitionLog log = new TransitionLog(m_file, 4)) {
+      log.track(event);
+      for (int i = 0; i < 5; i++) {
+        m_a = !m_a;
+        tick();
+      }
+      assertEquals(6, log.getCount());
+    }
+    // A crash while writing the seventh record leaves its slot, record 2, half-overwritten.
+    ByteBuffer torn = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(-1);
+    torn.flip();
+    try (FileChannel channel = FileChannel.open(m_file, StandardOpenOption.WRITE)) {
+      channel.write(torn, TransitionLog.kHeaderSize + 2 * TransitionLog.kRecordSize);
+    }
+    TransitionLogReader reader = new TransitionLogReader(m_file);
+    assertEquals(3, reader.getOverwrittenCount());
+    boolean state = false;
+    for (int i = 0; i < 3; i++) {
+      assertTrue(reader.next());
+      assertTrue(reader.getTimestamp() > 0);
+      assertFalse(reader.isInitialState());
+      state = !state;
+      assertEquals(state, reader.getState());
+    }
+    assertFalse(reader.next());
+  }
+}
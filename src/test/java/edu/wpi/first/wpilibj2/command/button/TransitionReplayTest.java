@@ -0,0 +1,81 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package edu.wpi.first.wpilibj2.command.button;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransitionReplayTest {
+  private long m_time;
+  private boolean m_a;
+  private final EventLoop m_loop = new EventLoop(() -> m_time);
+  private Path m_file;
+
+  @Before
+  public void setup() throws IOException {
+    m_file = Files.createTempFile("transitions", ".bin");
+  }
+
+  @After
+  public void teardown() throws IOException {
+    Files.deleteIfExists(TransitionLog.namesFileOf(m_file));
+    Files.deleteIfExists(m_file);
+  }
+
+  private void tick() {
+    m_time += 20_000;
+    m_loop.poll();
+  }
+
+  @Test
+  public void eventsStartInTheirLoggedState() throws IOException {
+    m_a = false;
+    try (TransitionLog log = new TransitionLog(m_file, 16)) {
+      log.track(new BooleanEvent(m_loop, () -> true).withName("held"));
+      log.track(new BooleanEvent(m_loop, () -> m_a).withName("pressed"));
+      tick();
+      m_a = true;
+      tick();
+    }
+    TransitionReplay replay = new TransitionReplay(new TransitionLogReader(m_file), 0.02);
+    EventLoop loop = new EventLoop(replay.getClock());
+    BooleanEvent held = new BooleanEvent(loop, () -> false);
+    BooleanEvent pressed = new BooleanEvent(loop, () -> false);
+    replay.substitute(held, "held").substitute(pressed, "pressed");
+    int[] runs = new int[3];
+    held.whileTrueContinuous(() -> runs[0]++);
+    held.onTrue(() -> runs[1]++);
+    pressed.onTrue(() -> runs[2]++);
+    replay.addLoop(loop);
+    replay.run();
+    assertEquals(replay.getTickCount(), runs[0]);
+    assertEquals(0, runs[1]);
+    assertEquals(1, runs[2]);
+  }
+
+  @Test
+  public void ambiguousNamesAreRejected() throws IOException {
+    try (TransitionLog log = new TransitionLog(m_file, 16)) {
+      log.track(new BooleanEvent(m_loop, () -> true));
+      log.track(new BooleanEvent(m_loop, () -> false));
+      tick();
+    }
+    TransitionLogReader reader = new TransitionLogReader(m_file);
+    TransitionReplay replay = new TransitionReplay(reader, 0.02);
+    String name = reader.getEventName(0);
+    assertEquals(name, reader.getEventName(1));
+    BooleanEvent event = new BooleanEvent(new EventLoop(replay.getClock()), () -> false);
+    assertThrows(IllegalArgumentException.class, () -> replay.substitute(event, name));
+    replay.substitute(event, 1);
+    assertThrows(IllegalArgumentException.class, () -> replay.substitute(event, 2));
+  }
+}